@@ -0,0 +1,175 @@
+package nars.entity;
+
+import nars.data.SentenceStruct;
+import nars.inference.LocalRules;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * The beliefs of a Concept, ordered by rank, highest first.
+ * <p>
+ * The rank of each belief, and its quality as a solution, are computed once
+ * when it is added and kept in parallel arrays. An insertion finds its place
+ * by binary search over the ranks and shifts with one arraycopy; the best
+ * solution for either kind of question is tracked as beliefs come and go,
+ * so answering does not call {@link LocalRules#solutionQuality} per belief.
+ * <p>
+ * Read-only as a List; beliefs only enter through {@link #add(Sentence)}.
+ */
+public class BeliefTable extends AbstractList<Sentence> {
+
+    private final int capacity;
+    private Sentence[] beliefs;
+    /** {@link Concept#rankBelief}, descending */
+    private float[] ranks;
+    /** quality for a "what" question or a judgment: the confidence */
+    private float[] confidences;
+    /** quality for a "yes/no" question: the expectation over the complexity */
+    private float[] expectations;
+    private int size;
+    /** first belief with the highest confidence, or -1 */
+    private int bestConfidence = -1;
+    /** first belief with the highest expectation per complexity, or -1 */
+    private int bestExpectation = -1;
+
+    /**
+     * Constructor
+     * @param capacity The maximum number of beliefs kept
+     */
+    public BeliefTable(int capacity) {
+        this.capacity = capacity;
+        int initial = Math.min(capacity, 8) + 1;
+        beliefs = new Sentence[initial];
+        ranks = new float[initial];
+        confidences = new float[initial];
+        expectations = new float[initial];
+    }
+
+    @Override
+    public Sentence get(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException(i + " >= " + size);
+        }
+        return beliefs[i];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a new belief into the table, by rank, and remove the lowest one
+     * when over capacity
+     * <p>
+     * A belief equivalent to the one at its place is not added again
+     *
+     * @param newSentence The judgment to be added
+     * @return false for a duplicated or too low ranked belief
+     */
+    @Override
+    public boolean add(Sentence newSentence) {
+        float rank = Concept.rankBelief(newSentence);
+        int i = place(rank);
+        if (i < size && newSentence.equivalentTo(beliefs[i])) {
+            return false;
+        }
+        if (i >= capacity) {
+            return false;
+        }
+        if (size == beliefs.length) {
+            grow();
+        }
+        int moved = size - i;
+        System.arraycopy(beliefs, i, beliefs, i + 1, moved);
+        System.arraycopy(ranks, i, ranks, i + 1, moved);
+        System.arraycopy(confidences, i, confidences, i + 1, moved);
+        System.arraycopy(expectations, i, expectations, i + 1, moved);
+        TruthValue truth = newSentence.getTruth();
+        beliefs[i] = newSentence;
+        ranks[i] = rank;
+        confidences[i] = truth.getConfidence();
+        expectations[i] = truth.getExpectation() / newSentence.getContent().getComplexity();
+        size++;
+        modCount++;
+        bestConfidence = inserted(bestConfidence, confidences, i);
+        bestExpectation = inserted(bestExpectation, expectations, i);
+        if (size > capacity) {
+            size = capacity;
+            beliefs[size] = null;
+            if (bestConfidence >= size) {
+                bestConfidence = first(confidences);
+            }
+            if (bestExpectation >= size) {
+                bestExpectation = first(expectations);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The best solution to a query, as {@link LocalRules#solutionQuality}
+     * ranks them; the first in rank order among equals
+     *
+     * @param query The question or judgment to be answered
+     * @return The best belief, or null when none has a positive quality
+     */
+    public Sentence best(SentenceStruct query) {
+        int i = Sentence.containQueryVar(query) ? bestExpectation : bestConfidence;
+        return i < 0 ? null : beliefs[i];
+    }
+
+    /**
+     * The first index whose rank is not above the given one
+     */
+    private int place(float rank) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rank >= ranks[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Update a best index after an insertion at i
+     */
+    private static int inserted(int best, float[] quality, int i) {
+        if (best < 0) {
+            return quality[i] > 0 ? i : -1;
+        }
+        if (best >= i) {
+            best++;
+        }
+        float q = quality[i], b = quality[best];
+        return q > b || (q == b && i < best) ? i : best;
+    }
+
+    /**
+     * Scan for the first index of the highest positive quality
+     */
+    private int first(float[] quality) {
+        int best = -1;
+        float currentBest = 0;
+        for (int i = 0; i < size; i++) {
+            if (quality[i] > currentBest) {
+                currentBest = quality[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private void grow() {
+        int length = Math.min(beliefs.length * 2, capacity + 1);
+        beliefs = Arrays.copyOf(beliefs, length);
+        ranks = Arrays.copyOf(ranks, length);
+        confidences = Arrays.copyOf(confidences, length);
+        expectations = Arrays.copyOf(expectations, length);
+    }
+}
@@ -46,6 +46,8 @@ public class BudgetValue implements BudgetStruct  {
     protected float durability;
     /** The overall (context-independent) evaluation */
     protected float quality;
+    /** The summary of the three factors, or negative once any has changed */
+    private float summary = -1;
 
     /** 
      * Default constructor
@@ -91,6 +93,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The new priority
      */
     public void setPriority(float v) {
+        summary = -1;
         priority= v;
     }
 
@@ -99,6 +102,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The increasing percent
      */
     public void incPriority(float v) {
+        summary = -1;
         priority= UtilityFunctions.or(priority, v);
     }
 
@@ -107,6 +111,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The decreasing percent
      */
     public void decPriority(float v) {
+        summary = -1;
         priority= UtilityFunctions.and(priority, v);
     }
 
@@ -123,6 +128,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The new durability
      */
     public void setDurability(float v) {
+        summary = -1;
         durability= v;
     }
 
@@ -131,6 +137,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The increasing percent
      */
     public void incDurability(float v) {
+        summary = -1;
         durability= UtilityFunctions.or(durability, v);
     }
 
@@ -139,6 +146,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The decreasing percent
      */
     public void decDurability(float v) {
+        summary = -1;
         durability= UtilityFunctions.and(durability, v);
     }
 
@@ -155,6 +163,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The new quality
      */
     public void setQuality(float v) {
+        summary = -1;
         quality= v;
     }
 
@@ -163,6 +172,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The increasing percent
      */
     public void incQuality(float v) {
+        summary = -1;
         quality= UtilityFunctions.or(quality, v);
     }
 
@@ -171,6 +181,7 @@ public class BudgetValue implements BudgetStruct  {
      * @param v The decreasing percent
      */
     public void decQuality(float v) {
+        summary = -1;
         quality= UtilityFunctions.and(quality, v);
     }
 
@@ -187,7 +198,10 @@ public class BudgetValue implements BudgetStruct  {
      * @return The summary value
      */
     public float summary() {
-        return UtilityFunctions.aveGeo(priority, durability, quality);
+        if (summary < 0) {
+            summary = UtilityFunctions.aveGeo(priority, durability, quality);
+        }
+        return summary;
     }
 
     /**
@@ -23,12 +23,20 @@ package nars.entity;
 import nars.data.BudgetStruct;
 import nars.data.SentenceStruct;
 import nars.inference.LocalRules;
+import nars.inference.RuleProfiler;
+import nars.inference.RuleProfiler.Rule;
 import nars.inference.RuleTables;
 import nars.inference.UtilityFunctions;
+import nars.io.NarseseParser;
 import nars.language.CompoundTerm;
 import nars.language.Term;
 import nars.storage.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -39,6 +47,10 @@ import java.util.List;
  * <p>
  * To make sure the space will be released, the only allowed reference to a concept are
  * those in a ConceptBag. All other access go through the Term that names the concept.
+ * <p>
+ * The links, questions and beliefs are made on first use. An idle concept without
+ * pending work can be dehydrated: its beliefs and TermLinks are kept as bytes, and
+ * restored the next time any of them is accessed.
  */
 public final class Concept extends Item {
 
@@ -48,8 +60,12 @@ public final class Concept extends Item {
     private TermLinkBag termLinks;
     private List<TermLink> termLinkTemplates;
     private List<Task> questions;
-    private List<Sentence> beliefs;
+    private BeliefTable beliefs;
     private EntityObserver entityObserver = new NullEntityObserver();
+    /** beliefs and TermLinks of a dehydrated concept, or null */
+    private byte[] dehydrated;
+    /** the last time the concept was fired, or made */
+    private long lastFired;
 
 
     /* ---------- constructor and initialization ---------- */
@@ -64,13 +80,7 @@ public final class Concept extends Item {
         super(tm.getName());
         setTerm(tm);
         this.setMemory(memory);
-        setQuestions(new ArrayList<Task>());
-        setBeliefs(new ArrayList<Sentence>());
-        setTaskLinks(new TaskLinkBag(memory));
-        setTermLinks(new TermLinkBag(memory));
-        if (tm instanceof CompoundTerm) {
-            setTermLinkTemplates(((CompoundTerm) tm).prepareComponentLinks());
-        }
+        setLastFired(Memory.getTime(memory));
     }
 
     /**
@@ -142,16 +152,31 @@ public final class Concept extends Item {
                 getMemory().setNewStamp(Stamp.make(newStamp, oldStamp, Memory.getTime(getMemory())));
                 if (getMemory().getNewStamp() != null) {
                     getMemory().setCurrentBelief(oldBelief);
-                    LocalRules.revision(judg, oldBelief, false, getMemory());
+                    long start = RuleProfiler.enter(Rule.REVISION);
+                    try {
+                        LocalRules.revision(judg, oldBelief, false, getMemory());
+                    } finally {
+                        RuleProfiler.exit(Rule.REVISION, start);
+                    }
                 }
             }
         }
         if (task.getBudget().aboveThreshold()) {
-            for (Task ques : getQuestions()) {
-//                LocalRules.trySolution(ques.getSentence(), judg, ques, memory);
-                LocalRules.trySolution(judg, ques, getMemory());
+            long start = RuleProfiler.enter(Rule.TRY_SOLUTION);
+            try {
+                for (Task ques : getQuestions()) {
+//                    LocalRules.trySolution(ques.getSentence(), judg, ques, memory);
+                    LocalRules.trySolution(judg, ques, getMemory());
+                }
+                for (Task ques : getMemory().getQuestionIndex().answerable(judg.getContent())) {
+                    if (!getQuestions().contains(ques)) {   // those with query variables, or dropped here
+                        LocalRules.trySolution(judg, ques, getMemory());
+                    }
+                }
+            } finally {
+                RuleProfiler.exit(Rule.TRY_SOLUTION, start);
             }
-            addToTable(judg, getBeliefs(), Parameters.MAXIMUM_BELIEF_LENGTH);
+            getBeliefs().add(judg);
         }
     }
 
@@ -176,13 +201,18 @@ public final class Concept extends Item {
             if (newQuestion) {
                 getQuestions().add(task);
             }
-            if (getQuestions().size() > Parameters.MAXIMUM_QUESTIONS_LENGTH) {
+            if (getQuestions().size() > getMemory().getProfile().getMaximumQuestionsLength()) {
                 getQuestions().remove(0);    // FIFO
             }
             Sentence newAnswer = evaluation(ques, getBeliefs());
             if (newAnswer != null) {
 //            LocalRules.trySolution(ques, newAnswer, task, memory);
-                LocalRules.trySolution(newAnswer, task, getMemory());
+                long start = RuleProfiler.enter(Rule.TRY_SOLUTION);
+                try {
+                    LocalRules.trySolution(newAnswer, task, getMemory());
+                } finally {
+                    RuleProfiler.exit(Rule.TRY_SOLUTION, start);
+                }
                 return newAnswer.getTruth().getExpectation();
             } else {
                 return 0.5f;
@@ -225,61 +255,18 @@ public final class Concept extends Item {
         }
     }
 
-    /**
-     * Add a new belief (or goal) into the table
-     * Sort the beliefs/goals by rank, and remove redundant or low rank one
-     *
-     * @param newSentence The judgment to be processed
-     * @param table       The table to be revised
-     * @param capacity    The capacity of the table
-     */
-    private static void addToTable(Sentence newSentence, List<Sentence> table, int capacity) {
-        float rank1 = rankBelief(newSentence);    // for the new isBelief
-        Sentence judgment2;
-        float rank2;
-        int i;
-        for (i = 0; i < table.size(); i++) {
-            judgment2 = table.get(i);
-            rank2 = rankBelief(judgment2);
-            if (rank1 >= rank2) {
-                if (newSentence.equivalentTo(judgment2)) {
-                    return;
-                }
-                table.add(i, newSentence);
-                break;
-            }
-        }
-        if (table.size() >= capacity) {
-            while (table.size() > capacity) {
-                table.remove(table.size() - 1);
-            }
-        } else if (i == table.size()) {
-            table.add(newSentence);
-        }
-    }
-
     /**
      * Evaluate a query against beliefs (and desires in the future)
      *
      * @param query The question to be processed
-     * @param list  The list of beliefs to be used
+     * @param table The beliefs to be used
      * @return The best candidate belief selected
      */
-    private static Sentence evaluation(SentenceStruct query, Iterable<Sentence> list) {
-        if (list == null) {
+    private static Sentence evaluation(SentenceStruct query, BeliefTable table) {
+        if (table == null) {
             return null;
         }
-        float currentBest = 0;
-        float beliefQuality;
-        Sentence candidate = null;
-        for (Sentence judg : list) {
-            beliefQuality = LocalRules.solutionQuality(query, judg);
-            if (beliefQuality > currentBest) {
-                currentBest = beliefQuality;
-                candidate = judg;
-            }
-        }
-        return candidate;
+        return table.best(query);
     }
 
     /* ---------- insert Links for indirect processing ---------- */
@@ -361,7 +348,7 @@ public final class Concept extends Item {
      */
     @Override
     public String toString() {  // called from concept bag
-        if (NARSBatch.isStandAlone()) {
+        if (getMemory().getReasoner().isStandAlone()) {
             return (super.toStringBrief(getBudget(), getKey()) + " " + getKey());
         } else {
             return getKey();
@@ -408,6 +395,9 @@ public final class Concept extends Item {
      * @return The template get
      */
     public Collection<TermLink> getTermLinkTemplates() {
+        if (termLinkTemplates == null && term instanceof CompoundTerm) {
+            setTermLinkTemplates(((CompoundTerm) term).prepareComponentLinks());
+        }
         return termLinkTemplates;
     }
 
@@ -425,7 +415,9 @@ public final class Concept extends Item {
         Sentence taskSentence = task.getSentence();
         Sentence r = null;
         for (Sentence belief1 : getBeliefs()) {
-            getMemory().getRecorder().append(" * Selected Belief: " + belief1 + "\n");
+            if (getMemory().getRecorder().isLogging()) {
+                getMemory().getRecorder().append(" * Selected Belief: " + belief1 + "\n");
+            }
             getMemory().setNewStamp(Stamp.make((Stamp) taskSentence.getStamp(), belief1.getStamp(), Memory.getTime(getMemory())));
             if (getMemory().getNewStamp() != null) {
                 r = (Sentence) belief1.clone();
@@ -448,19 +440,33 @@ public final class Concept extends Item {
         if (currentTaskLink != null) {
             memory.setCurrentTaskLink(currentTaskLink);
             memory.setCurrentBeliefLink(null);
-            memory.getRecorder().append(" * Selected TaskLink: " + currentTaskLink + "\n");
+            if (memory.getRecorder().isLogging()) {
+                memory.getRecorder().append(" * Selected TaskLink: " + currentTaskLink + "\n");
+            }
             Task task = currentTaskLink.getTargetTask();
             memory.setCurrentTask(task);  // one of the two places where this variable is set
             if (currentTaskLink.getType() == TermLink.TRANSFORM) {
-                RuleTables.transformTask(currentTaskLink, memory);  // to turn this into structural inference as below?
+                long start = RuleProfiler.enter(Rule.TRANSFORM_TASK);
+                try {
+                    RuleTables.transformTask(currentTaskLink, memory);  // to turn this into structural inference as below?
+                } finally {
+                    RuleProfiler.exit(Rule.TRANSFORM_TASK, start);
+                }
             }
-            int termLinkCount = Parameters.MAX_REASONED_TERM_LINK;
+            int termLinkCount = memory.getProfile().getMaxReasonedTermLink();
             while (Memory.noResult(memory) && (termLinkCount > 0)) {
                 TermLink termLink = termLinks.takeOut(currentTaskLink, Memory.getTime(memory));
                 if (termLink != null) {
-                    memory.getRecorder().append(" * Selected TermLink: " + termLink + "\n");
+                    if (memory.getRecorder().isLogging()) {
+                        memory.getRecorder().append(" * Selected TermLink: " + termLink + "\n");
+                    }
                     memory.setCurrentBeliefLink(termLink);
-                    RuleTables.reason(currentTaskLink, termLink, memory);
+                    long start = RuleProfiler.enter(Rule.REASON);
+                    try {
+                        RuleTables.reason(currentTaskLink, termLink, memory);
+                    } finally {
+                        RuleProfiler.exit(Rule.REASON, start);
+                    }
                     termLinks.putBack(termLink);
                     termLinkCount--;
                 } else {
@@ -546,6 +552,10 @@ public final class Concept extends Item {
      * Task links for indirect processing
      */
     public TaskLinkBag getTaskLinks() {
+        hydrate();
+        if (taskLinks == null) {
+            setTaskLinks(new TaskLinkBag(memory));
+        }
         return taskLinks;
     }
 
@@ -557,6 +567,10 @@ public final class Concept extends Item {
      * Term links between the term and its components and compounds
      */
     public TermLinkBag getTermLinks() {
+        hydrate();
+        if (termLinks == null) {
+            setTermLinks(new TermLinkBag(memory));
+        }
         return termLinks;
     }
 
@@ -572,6 +586,10 @@ public final class Concept extends Item {
      * Question directly asked about the term
      */
     public List<Task> getQuestions() {
+        hydrate();
+        if (questions == null) {
+            setQuestions(new ArrayList<Task>());
+        }
         return questions;
     }
 
@@ -582,14 +600,195 @@ public final class Concept extends Item {
     /**
      * Sentences directly made about the term, with non-future tense
      */
-    public List<Sentence> getBeliefs() {
+    public BeliefTable getBeliefs() {
+        hydrate();
+        if (beliefs == null) {
+            setBeliefs(new BeliefTable(getMemory().getProfile().getMaximumBeliefLength()));
+        }
         return beliefs;
     }
 
-    public void setBeliefs(List<Sentence> beliefs) {
+    public void setBeliefs(BeliefTable beliefs) {
         this.beliefs = beliefs;
     }
 
+    /**
+     * The last time the concept was fired, called in Memory and ConceptBag
+     */
+    public long getLastFired() {
+        return lastFired;
+    }
+
+    public void setLastFired(long lastFired) {
+        this.lastFired = lastFired;
+    }
+
+    /**
+     * Whether the concept is held as bytes; it then has no TaskLink or question
+     */
+    public boolean isDehydrated() {
+        return dehydrated != null;
+    }
+
+    /* ---------- dehydration ---------- */
+
+    /**
+     * Keep the beliefs and TermLinks of an idle concept as bytes, and drop
+     * everything that can be made again
+     * <p>
+     * A concept with TaskLinks or questions, or on display, is left as it is
+     * <p>
+     * called in ConceptBag only
+     *
+     * @return Whether the concept has been dehydrated
+     */
+    public boolean dehydrate() {
+        if (dehydrated != null || (beliefs == null && termLinks == null)
+                || (taskLinks != null && taskLinks.size() > 0) || (questions != null && !questions.isEmpty())
+                || !(entityObserver instanceof NullEntityObserver)) {
+            return false;
+        }
+        dehydrated = encode();
+        beliefs = null;
+        termLinks = null;
+        taskLinks = null;
+        questions = null;
+        termLinkTemplates = null;
+        return true;
+    }
+
+    /**
+     * The beliefs and TermLinks of a concept evicted from the ConceptBag
+     * <p>
+     * called in ConceptStore only
+     *
+     * @return The dehydrated form, or null if there is nothing to keep
+     */
+    public byte[] spill() {
+        if (dehydrated != null) {
+            return dehydrated;
+        }
+        if ((beliefs == null || beliefs.isEmpty()) && (termLinks == null || termLinks.size() == 0)) {
+            return null;
+        }
+        return encode();
+    }
+
+    /**
+     * Give a new concept the contents and budget of a spilled one, to be
+     * hydrated on first access
+     * <p>
+     * called in ConceptStore only
+     *
+     * @param bytes  The dehydrated form
+     * @param budget The budget of the concept
+     */
+    public void restore(byte[] bytes, BudgetValue budget) {
+        dehydrated = bytes;
+        setBudget(budget);
+    }
+
+    private byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            BeliefTable table = beliefs == null ? new BeliefTable(0) : beliefs;
+            out.writeInt(table.size());
+            for (int b = table.size() - 1; b >= 0; b--) {   // lowest first, so that equal ranks keep their order when added back
+                Sentence belief = table.get(b);
+                TruthValue truth = belief.getTruth();
+                Stamp stamp = belief.getStamp();
+                out.writeChar(belief.getPunctuation());
+                out.writeFloat(truth.getFrequency());
+                out.writeFloat(truth.getConfidence());
+                out.writeBoolean(belief.getRevisible());
+                out.writeLong(stamp.getCreationTime());
+                out.writeInt(stamp.getBaseLength());
+                for (int i = 0; i < stamp.getBaseLength(); i++) {
+                    out.writeLong(stamp.get(i));
+                }
+            }
+            if (termLinks == null || termLinks.size() == 0) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(termLinks.size());
+                for (int c : termLinks.getCursor()) {
+                    out.writeInt(c);
+                }
+                termLinks.forEach(link -> write(out, link));
+            }
+        } catch (IOException e) {
+            throw new Error("dehydrate: " + getKey() + " --- " + e.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void write(DataOutputStream out, TermLink link) {
+        try {
+            BudgetValue budget = link.getBudget();
+            out.writeUTF(link.getTerm().getName());
+            out.writeByte(link.getType());
+            out.writeLong(link.packedIndex());
+            out.writeFloat(budget.getPriority());
+            out.writeFloat(budget.getDurability());
+            out.writeFloat(budget.getQuality());
+        } catch (IOException e) {
+            throw new Error("dehydrate: " + link + " --- " + e.getMessage());
+        }
+    }
+
+    /**
+     * Restore the beliefs and TermLinks of a dehydrated concept
+     * <p>
+     * A TermLink whose term cannot be rebuilt from its name is dropped, and
+     * reported to the recorder
+     */
+    private void hydrate() {
+        if (dehydrated == null) {
+            return;
+        }
+        byte[] bytes = dehydrated;
+        dehydrated = null;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            BeliefTable table = new BeliefTable(getMemory().getProfile().getMaximumBeliefLength());
+            for (int n = in.readInt(); n > 0; n--) {
+                char punctuation = in.readChar();
+                TruthValue truth = new TruthValue(in.readFloat(), in.readFloat());
+                boolean revisible = in.readBoolean();
+                long creationTime = in.readLong();
+                long[] base = new long[in.readInt()];
+                for (int i = 0; i < base.length; i++) {
+                    base[i] = in.readLong();
+                }
+                table.add(new Sentence((Term) term.clone(), punctuation, truth, new Stamp(base, creationTime), revisible));
+            }
+            beliefs = table;
+            int n = in.readInt();
+            if (n > 0) {
+                termLinks = new TermLinkBag(memory);
+                termLinks.setCursor(new int[]{in.readInt(), in.readInt(), in.readInt()});
+                for (; n > 0; n--) {
+                    String name = in.readUTF();
+                    int type = in.readByte();
+                    long index = in.readLong();
+                    BudgetValue budget = new BudgetValue(in.readFloat(), in.readFloat(), in.readFloat());
+                    Term t = Memory.nameToListedTerm(memory, name);
+                    if (t == null) {    // parsed quietly: a failure goes to the recorder, not the console
+                        NarseseParser parser = new NarseseParser(name, memory);
+                        t = parser.term();
+                        if (t == null && memory.getRecorder().isLogging()) {
+                            memory.getRecorder().append("!!! Dropped TermLink: " + name + " --- " + parser.message() + "\n");
+                        }
+                    }
+                    if (t != null) {
+                        termLinks.putIn(new TermLink(t, type, index, budget));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new Error("hydrate: " + getKey() + " --- " + e.getMessage());
+        }
+    }
+
     /**
      * The display window
      */
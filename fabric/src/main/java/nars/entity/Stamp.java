@@ -22,12 +22,12 @@ package nars.entity;
 
 import nars.data.StampStruct;
 import nars.io.Symbols;
+import nars.storage.Memory;
 import nars.storage.Parameters;
-import nars.storage.ReasonerBatch;
 
-import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.LongStream;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Each Sentence has a time stamp, consisting the following components:
@@ -35,24 +35,43 @@ import java.util.stream.LongStream;
  * (2) A evidentialBase of serial numbers of sentence, from which the sentence is derived.
  * Each input sentence gets a unique serial number, though the creation time may be not unique.
  * The derived sentences inherits serial numbers from its parents, cut at the baseLength limit.
+ * <p>
+ * The evidentialBase is an immutable long[], kept with a sorted copy, so that
+ * overlap is found by a merge and equality by comparing arrays.
  */
 public class Stamp implements Cloneable, StampStruct {
 
-    private static long currentSerial;
-    private final int baseLength  ;
-    private List<Long> evidentialBase=new CopyOnWriteArrayList<>();
+    private long[] evidentialBase;
+    /** the evidentialBase in ascending order */
+    private long[] sorted;
+    /** hash of the sorted evidentialBase */
+    private int hash;
+    /**
+     * one bit per serial number in the evidentialBase, at the serial modulo 64;
+     * serials are issued in sequence, so recent ones never collide
+     */
+    private long fingerprint;
     private long creationTime;
 
     /**
      * Generate a new stamp, with a new serial number, for a new Task
      *
-     * @param time Creation time of the stamp
+     * @param serial The serial number, issued by the Memory
+     * @param time   Creation time of the stamp
      */
-    private Stamp(long time) {
-        setCurrentSerial(getCurrentSerial() + 1);
-        baseLength = 1;
+    private Stamp(long serial, long time) {
+        setBase(new long[]{serial});
+        creationTime = time;
+    }
 
-        getEvidentialBase().add(0, getCurrentSerial());
+    /**
+     * Restore a stamp from its serial numbers, called in Concept only
+     *
+     * @param base The evidentialBase, not to be modified afterwards
+     * @param time Creation time of the stamp
+     */
+    Stamp(long[] base, long time) {
+        setBase(base);
         creationTime = time;
     }
 
@@ -62,9 +81,7 @@ public class Stamp implements Cloneable, StampStruct {
      * @param old The stamp to be cloned
      */
     private Stamp(Stamp old) {
-        baseLength = old.getBaseLength();
-        setEvidentialBase(old.getBase());
-        creationTime = old.getCreationTime();
+        this(old, old.getCreationTime());
     }
 
     /**
@@ -76,8 +93,10 @@ public class Stamp implements Cloneable, StampStruct {
      * @param time The current time
      */
     private Stamp(Stamp old, long time) {
-        baseLength = old.getBaseLength();
-        setEvidentialBase(old.getBase());
+        evidentialBase = old.evidentialBase;
+        sorted = old.sorted;
+        hash = old.hash;
+        fingerprint = old.fingerprint;
         creationTime = time;
     }
 
@@ -91,21 +110,17 @@ public class Stamp implements Cloneable, StampStruct {
     private Stamp(Stamp first, Stamp second, long time) {
         int i1, i2, j;
         i1 = i2 = j = 0;
-        baseLength = Math.min(first.getBaseLength() + second.getBaseLength(), Parameters.MAXIMUM_STAMP_LENGTH);
-        getEvidentialBase().clear();
-        while (i2 < second.getBaseLength() && j < getBaseLength()) {
-            getEvidentialBase().add( first.get(i1));
-            i1++;
-            j++;
-            getEvidentialBase().add( second.get(i2));
-            i2++;
-            j++;
+        long[] base = new long[Math.min(first.getBaseLength() + second.getBaseLength(), Parameters.MAXIMUM_STAMP_LENGTH)];
+        while (i2 < second.getBaseLength() && j < base.length) {
+            base[j++] = first.evidentialBase[i1++];
+            if (j < base.length) {
+                base[j++] = second.evidentialBase[i2++];
+            }
         }
-        while (i1 < first.getBaseLength() && j < getBaseLength()) {
-            getEvidentialBase().add(first.get(i1));
-            i1++;
-            j++;
+        while (i1 < first.getBaseLength() && j < base.length) {
+            base[j++] = first.evidentialBase[i1++];
         }
+        setBase(base);
         creationTime = time;
     }
 
@@ -120,50 +135,68 @@ public class Stamp implements Cloneable, StampStruct {
      * @return The merged Stamp, or null
      */
     public static Stamp make(Stamp first, Stamp second, long time) {
-        Stamp r = null;
-        e:
-        {
-            for (int i = 0; i < first.getBaseLength(); i++) {
-                for (int j = 0; j < second.getBaseLength(); j++) {
-                    if (first.get(i) == second.get(j)) {
-                        break e;
-                    }
-                }
-            }
-
-            r = first.getBaseLength() > second.getBaseLength() ? new Stamp(first, second, time) : new Stamp(second, first, time);
+        if (overlap(first, second)) {
+            return null;
         }
-
-
-        return r;
+        return first.getBaseLength() > second.getBaseLength() ? new Stamp(first, second, time) : new Stamp(second, first, time);
     }
 
     /**
-     * Initialize the stamp mechanism of the system, called in Reasoner
+     * Merge the Stamps of many judgments revised at once, return null if any
+     * two overlap
+     *
+     * @param stamps The Stamps
+     * @param n      The number of Stamps, at least one
+     * @param time   The new creation time
+     * @return The combined Stamp, or null
      */
-    public static void init() {
-        setCurrentSerial(0);
-    }
-
-    public static Stamp createStamp(long time) {
-        return new Stamp(time);
+    public static Stamp make(Stamp[] stamps, int n, long time) {
+        Stamp merged = new Stamp(stamps[0], time);
+        for (int i = 1; i < n && merged != null; i++) {
+            merged = make(merged, stamps[i], time);
+        }
+        return merged;
     }
 
-    public static Stamp createStamp(Stamp old, long time) {
-        return new Stamp(old, time);
+    /**
+     * Check whether two Stamps share a serial number; disjoint fingerprints
+     * answer at once, otherwise the sorted bases are merged
+     *
+     * @param first  The first Stamp
+     * @param second The second Stamp
+     * @return Whether the evidence overlaps
+     */
+    public static boolean overlap(Stamp first, Stamp second) {
+        if ((first.fingerprint & second.fingerprint) == 0) {
+            return false;
+        }
+        long[] a = first.sorted, b = second.sorted;
+        int i = 0, j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * serial number, for the whole system
-     * TODO : should it really be static?
-     * or a Stamp be a field in {@link ReasonerBatch} ?
+     * Stamp a new Task with the next serial number of its memory
+     *
+     * @param memory The memory issuing the serial number
+     * @param time   Creation time of the stamp
+     * @return The new Stamp
      */
-    public static long getCurrentSerial() {
-        return currentSerial;
+    public static Stamp createStamp(Memory memory, long time) {
+        return new Stamp(Memory.nextSerial(memory), time);
     }
 
-    public static void setCurrentSerial(long currentSerial) {
-        Stamp.currentSerial = currentSerial;
+    public static Stamp createStamp(Stamp old, long time) {
+        return new Stamp(old, time);
     }
 
     /**
@@ -183,29 +216,24 @@ public class Stamp implements Cloneable, StampStruct {
      * @return The number at the index
      */
     long get(int i) {
-        return getEvidentialBase().get(i);
-    }
-
-    /**
-     * Get the evidentialBase, called in this class only
-     *
-     * @return The evidentialBase of numbers
-     */
-    private List<Long> getBase() {
-        return getEvidentialBase();
+        return evidentialBase[i];
     }
 
     /**
-     * Convert the evidentialBase into a set
+     * Install a new evidentialBase and the fields derived from it
      *
-     * @return The TreeSet representation of the evidential base
+     * @param base The serial numbers, not to be modified afterwards
      */
-    private Collection<Long> toSet() {
-        Collection<Long> set = new TreeSet<Long>();
-        for (int i = 0; i < getBaseLength(); i++) {
-            set.add(getEvidentialBase().get(i));
+    private void setBase(long[] base) {
+        evidentialBase = base;
+        sorted = base.clone();
+        Arrays.sort(sorted);
+        hash = Arrays.hashCode(sorted);
+        long bits = 0;
+        for (long serial : base) {
+            bits |= 1L << (serial & 63);
         }
-        return set;
+        fingerprint = bits;
     }
 
     /**
@@ -216,22 +244,17 @@ public class Stamp implements Cloneable, StampStruct {
      */
     @Override
     public boolean equals(Object that) {
-        if (!(that instanceof StampStruct)) {
-            return false;
-        }
-        Collection<Long> set1 = toSet();
-        Collection<Long> set2 = ((Stamp) that).toSet();
-        return set1.containsAll(set2) && set2.containsAll(set1);
+        return that instanceof Stamp && hash == ((Stamp) that).hash && Arrays.equals(sorted, ((Stamp) that).sorted);
     }
 
     /**
-     * The hash code of Stamp
+     * The hash code of Stamp, consistent with equals
      *
      * @return The hash code
      */
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return hash;
     }
 
     /**
@@ -262,7 +285,7 @@ public class Stamp implements Cloneable, StampStruct {
         StringBuffer buffer = new StringBuffer(" " + Symbols.STAMP_OPENER + getCreationTime());
         buffer.append(" " + Symbols.STAMP_STARTER + " ");
         for (int i = 0; i < getBaseLength(); i++) {
-            buffer.append(Long.toString(getEvidentialBase().get(i)));
+            buffer.append(Long.toString(evidentialBase[i]));
             if (i < getBaseLength() - 1) {
                 buffer.append(Symbols.STAMP_SEPARATOR);
             } else {
@@ -276,37 +299,31 @@ public class Stamp implements Cloneable, StampStruct {
      * evidentialBase baseLength
      */
      public int getBaseLength() {
-        return baseLength;
+        return evidentialBase.length;
     }
 
     /**
-     * serial numbers
+     * serial numbers, a read-only view of the evidentialBase
      */
-
     public List<Long> getEvidentialBase() {
-        return evidentialBase;
-    }
+        return new AbstractList<Long>() {
+            @Override
+            public Long get(int i) {
+                return evidentialBase[i];
+            }
 
-     public void setEvidentialBase(List<Long> evidentialBase) {
-        this.evidentialBase = evidentialBase;
+            @Override
+            public int size() {
+                return evidentialBase.length;
+            }
+        };
     }
 
-    /**
-     * temporary
-     */
-    class LongArrayList extends ArrayList<Long> {
-
-        @Override
-        public void ensureCapacity(int minCapacity) {
-
-            clear();
-            LongStream.of(0).limit(minCapacity+1).forEach(this::add);
-
-        }
-
-        LongArrayList(int baseLength) {
-            super(baseLength);
-            ensureCapacity(baseLength);
+     public void setEvidentialBase(List<Long> evidentialBase) {
+        long[] base = new long[evidentialBase.size()];
+        for (int i = 0; i < base.length; i++) {
+            base[i] = evidentialBase.get(i);
         }
+        setBase(base);
     }
 }
@@ -43,7 +43,6 @@ public class Task extends Item implements TaskStruct {
     public Task(Sentence s, BudgetValue b) {
         super(Sentence.toKey(s), b); // change to toKey()
         setSentence(s);
-        setKey(Sentence.toKey(getSentence()));
     }
 
     /**
@@ -22,12 +22,11 @@ package nars.entity;
 
 import nars.data.TaskLinkStruct;
 import nars.data.TaskStruct;
-import nars.data.TermLinkStruct;
 import nars.language.Term;
 import nars.storage.Parameters;
 
+import java.util.AbstractList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Reference to a Task.
@@ -39,8 +38,13 @@ public class TaskLink extends TermLink implements TaskLinkStruct {
 
     private int counter;
     private Task targetTask;
-    private List<Long> recordingTime;
-    private List<String>recordedLinks =new CopyOnWriteArrayList<>();
+    /* the novelty record, a ring of TERM_LINK_RECORD_LENGTH slots */
+    /** hash of each recorded TermLink key, checked before the key itself */
+    private final int[] recordedHashes = new int[Parameters.TERM_LINK_RECORD_LENGTH];
+    private final String[] recordedKeys = new String[Parameters.TERM_LINK_RECORD_LENGTH];
+    private final long[] recordedTimes = new long[Parameters.TERM_LINK_RECORD_LENGTH];
+    /** the slot to be overwritten next, once the ring is full */
+    private int head;
 
     /**
      * Constructor
@@ -50,17 +54,15 @@ public class TaskLink extends TermLink implements TaskLinkStruct {
      * @param template The TermLink template
      * @param v The budget
      */
-    public TaskLink(Task t, TermLinkStruct template, BudgetValue v) {
+    public TaskLink(Task t, TermLink template, BudgetValue v) {
         super("", v);
         setTargetTask(t);
         if (template == null) {
             setType(TermLink.SELF);
-            setIndex(null);
         } else {
             setType(template.getType());
-            setIndex(template.getIndex());
+            copyIndex(template);
         }
-        setRecordingTime(new CopyOnWriteArrayList<>());
         setCounter(0);
         setKey();   // as defined in TermLink
         setKey(getKey() + t.getKey());
@@ -91,28 +93,30 @@ public class TaskLink extends TermLink implements TaskLinkStruct {
             return false;
         }
         String linkKey = termLink.getKey();
-        int next = 0;
-        int i;
-        for (i = 0; i < getCounter(); i++) {
-            next = i % Parameters.TERM_LINK_RECORD_LENGTH;
-            if (linkKey.equals(this.getRecordedLinks().get(next))) {
-                if (currentTime < getRecordingTime().get(next) + Parameters.TERM_LINK_RECORD_LENGTH) {
+        int hash = linkKey.hashCode();
+        for (int i = 0; i < counter; i++) {
+            if (recordedHashes[i] == hash && linkKey.equals(recordedKeys[i])) {
+                if (currentTime < recordedTimes[i] + Parameters.TERM_LINK_RECORD_LENGTH) {
                     return false;
                 } else {
-                    getRecordingTime().set(next, currentTime);
+                    recordedTimes[i] = currentTime;
                     return true;
                 }
             }
         }
-        next = i % Parameters.TERM_LINK_RECORD_LENGTH;
-        getRecordedLinks().add(next, linkKey);       // add knowledge reference to recordedLinks
-        getRecordingTime().add(next, currentTime);
-        if (getCounter() < Parameters.TERM_LINK_RECORD_LENGTH) { // keep a constant length
-            setCounter(getCounter() + 1);
+        record(head, hash, linkKey, currentTime);   // add knowledge reference to the record
+        head = (head + 1) % Parameters.TERM_LINK_RECORD_LENGTH;
+        if (counter < Parameters.TERM_LINK_RECORD_LENGTH) { // keep a constant length
+            counter++;
         }
         return true;
     }
 
+    private void record(int slot, int hash, String linkKey, long time) {
+        recordedHashes[slot] = hash;
+        recordedKeys[slot] = linkKey;
+        recordedTimes[slot] = time;
+    }
 
     @Override
 	public String toString() {
@@ -124,26 +128,53 @@ public class TaskLink extends TermLink implements TaskLinkStruct {
         this.targetTask = (Task) targetTask;
     }
 
-    /** Remember the TermLinks that has been used recently with this TaskLink */
+    /** Remember the TermLinks that has been used recently with this TaskLink, a read-only view */
     @Override
     public List<String> getRecordedLinks() {
-        return recordedLinks;
+        return new AbstractList<String>() {
+            @Override
+            public String get(int i) {
+                return recordedKeys[i];
+            }
+
+            @Override
+            public int size() {
+                return counter;
+            }
+        };
     }
 
     @Override
     public void setRecordedLinks(List<String> recordedLinks) {
-        this.recordedLinks = recordedLinks;
+        counter = Math.min(recordedLinks.size(), Parameters.TERM_LINK_RECORD_LENGTH);
+        head = counter % Parameters.TERM_LINK_RECORD_LENGTH;
+        for (int i = 0; i < counter; i++) {
+            recordedKeys[i] = recordedLinks.get(i);
+            recordedHashes[i] = recordedKeys[i].hashCode();
+        }
     }
 
-    /** Remember the time when each TermLink is used with this TaskLink */
+    /** Remember the time when each TermLink is used with this TaskLink, a read-only view */
     @Override
     public List<Long> getRecordingTime() {
-        return recordingTime;
+        return new AbstractList<Long>() {
+            @Override
+            public Long get(int i) {
+                return recordedTimes[i];
+            }
+
+            @Override
+            public int size() {
+                return counter;
+            }
+        };
     }
 
     @Override
     public void setRecordingTime(List<Long> recordingTime) {
-        this.recordingTime = recordingTime;
+        for (int i = 0; i < counter && i < recordingTime.size(); i++) {
+            recordedTimes[i] = recordingTime.get(i);
+        }
     }
 
     /** The number of TermLinks remembered */
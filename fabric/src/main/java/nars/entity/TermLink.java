@@ -25,10 +25,9 @@ import nars.data.TermStruct;
 import nars.io.Symbols;
 import nars.language.Term;
 
-import java.util.Arrays;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A link between a compound term and a component term
@@ -41,6 +40,10 @@ import java.util.stream.IntStream;
  * The index value(s) indicates the location of the component in the compound.
  * <p>
  * This class is mainly used in inference.RuleTable to dispatch premises to inference rules
+ * <p>
+ * The indices are packed into one long: the number of levels in the lowest
+ * bits, then INDEX_BITS per level. With the type on top, it is the numeric
+ * {@link #code()} of the link, which also selects the shared key prefix.
  */
 public class TermLink extends Item implements TermLinkStruct {
     /**
@@ -75,9 +78,19 @@ public class TermLink extends Item implements TermLinkStruct {
      * At C, point to <(*, C, B) --> A>; TaskLink only
      */
     public static final short TRANSFORM = 8;
+    /** bits of the level count in a packed index */
+    private static final int COUNT_BITS = 4;
+    /** bits of each level in a packed index */
+    private static final int INDEX_BITS = 10;
+    private static final int MAX_LEVELS = (56 - COUNT_BITS) / INDEX_BITS;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    /** the largest component index a link can hold */
+    public static final int MAX_INDEX = (int) INDEX_MASK;
+    /** key prefixes by link code, as " _@(T4-1-2) " */
+    private static final ConcurrentHashMap<Long, String> PREFIXES = new ConcurrentHashMap<>();
     private Term term;
     private int type;
-    private List<Integer> index;
+    private long index;
 
     /**
      * Constructor for TermLink template
@@ -87,19 +100,19 @@ public class TermLink extends Item implements TermLinkStruct {
      * @param term    Target Term
      * @param typ     Link type
      * @param indices Component indices in compound, may be 1 to 4
+     * @throws IllegalArgumentException for an index above MAX_INDEX, or too
+     * many levels to pack
      */
-    public TermLink(Term term, short typ, IntStream indices) {
+    public TermLink(Term term, short typ, int... indices) {
         setTerm(term);
         setType(typ);
         assert type % 2 == 0; // template types all point to compound, though the term is component
-        setIndex(new CopyOnWriteArrayList<>());
         if (type == COMPOUND_CONDITION) {  // the first index is 0 by default
-            index.add(0);
-
+            index = push(index, 0);
+        }
+        for (int i : indices) {
+            index = push(index, i);
         }
-        if (null != indices) indices.forEachOrdered(a -> {
-            index.add(a);
-        });
     }
 
     /**
@@ -128,36 +141,105 @@ public class TermLink extends Item implements TermLinkStruct {
         if (template.term.equals(t)) {
             setType(type - 1);     // point to component
         }
-        setIndex(template.getIndex());
+        index = template.index;
+        setKey();
+    }
+
+    /**
+     * Restore a TermLink from its parts, called in Concept only
+     *
+     * @param t     Target Term
+     * @param type  Link type
+     * @param index Packed component indices
+     * @param v     Budget value of the link
+     */
+    TermLink(Term t, int type, long index, BudgetValue v) {
+        super(t.getName(), v);
+        setTerm(t);
+        setType(type);
+        this.index = index;
         setKey();
     }
 
-    public TermLink(Term t2, short transform, int... j) {
-        this(t2, transform, Arrays.stream(j));
+    /**
+     * The packed component indices, as restored by the constructor above
+     *
+     * @return The packed index
+     */
+    public long packedIndex() {
+        return index;
+    }
+
+    /**
+     * Append one level to a packed index
+     *
+     * @param packed The packed index
+     * @param i      The index at the new level
+     * @return The packed index with one more level
+     * @throws IllegalArgumentException when the level or the index does not
+     * fit below the type byte
+     */
+    private static long push(long packed, int i) {
+        int levels = (int) (packed & ((1 << COUNT_BITS) - 1));
+        if (levels >= MAX_LEVELS || i < 0 || i > INDEX_MASK) {
+            throw new IllegalArgumentException("index out of packing range: level " + levels + ", index " + i);
+        }
+        return (packed & ~((1L << COUNT_BITS) - 1)) | ((long) i << (COUNT_BITS + levels * INDEX_BITS)) | (levels + 1);
+    }
+
+    /**
+     * The number of index levels
+     *
+     * @return 0 for a link without index
+     */
+    public int indexLength() {
+        return (int) (index & ((1 << COUNT_BITS) - 1));
+    }
+
+    /**
+     * The numeric identity of the link kind: type and packed indices
+     *
+     * @return The type in the top byte, the packed index below
+     */
+    public long code() {
+        return ((long) type << 56) | index;
+    }
+
+    /**
+     * Copy the index of a template, called from TaskLink
+     *
+     * @param template The TermLink template
+     */
+    protected void copyIndex(TermLink template) {
+        index = template.index;
     }
 
     /**
      * Set the key of the link
      */
     protected void setKey() {
-        String at1, at2;
+        String prefix = PREFIXES.computeIfAbsent(code(), c -> prefix());
+        setKey(term != null ? prefix.concat(term.getName()) : prefix);
+    }
+
+    /**
+     * Build the part of the key that does not depend on the term
+     *
+     * @return The prefix, such as " _@(T4-1-2) "
+     */
+    private String prefix() {
+        StringBuilder in = new StringBuilder(24);
         if (type % 2 == 1) {  // to component
-            at1 = Symbols.TO_COMPONENT_1;
-            at2 = Symbols.TO_COMPONENT_2;
+            in.append(Symbols.TO_COMPONENT_1);
         } else {                // to compound
-            at1 = Symbols.TO_COMPOUND_1;
-            at2 = Symbols.TO_COMPOUND_2;
+            in.append(Symbols.TO_COMPOUND_1);
         }
-        String in = "T" + type;
-        if (index != null) {
-            for (int i = 0; i < index.size(); i++) {
-                in += "-" + (index.get(i) + 1);
-            }
-        }
-        setKey(at1 + in + at2);
-        if (term != null) {
-            setKey(getKey() + term);
+        in.append('T').append(type);
+        for (int i = 0; i < indexLength(); i++) {
+            in.append('-').append(getIndex(i) + 1);
         }
+        in.append(type % 2 == 1 ? Symbols.TO_COMPONENT_2 : Symbols.TO_COMPOUND_2);
+        return in.toString();
     }
 
     /** The linked Term */
@@ -207,24 +289,41 @@ public class TermLink extends Item implements TermLinkStruct {
      * @return The index value
      */
 
-    public Integer getIndex(int i) {
-        if (index != null && i < index.size()) {
-            return index.get(i);
+    public int getIndex(int i) {
+        if (i < indexLength()) {
+            return (int) ((index >>> (COUNT_BITS + i * INDEX_BITS)) & INDEX_MASK);
         } else {
             return -1;
         }
     }
 
     /**
-     * The index of the component in the component list of the compound, may have up to 4 levels
+     * The index of the component in the component list of the compound, may have up to 4 levels;
+     * a read-only view of the packed index
      */
     @Override
     public List<Integer> getIndex() {
-        return index;
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int i) {
+                return getIndex(i);
+            }
+
+            @Override
+            public int size() {
+                return indexLength();
+            }
+        };
     }
 
     @Override
     public void setIndex(List<Integer> index) {
-        this.index = index;
+        long packed = 0;
+        if (index != null) {
+            for (int i : index) {
+                packed = push(packed, i);
+            }
+        }
+        this.index = packed;
     }
 }
@@ -260,4 +260,18 @@ public final class BudgetFunctions extends UtilityFunctions {
         }
         return sum / arr.length;
     }
+
+    /**
+     * {@link #aveAri(float...)} of two inputs, without an array
+     */
+    public static float aveAri(float a, float b) {
+        return (a + b) / 2;
+    }
+
+    /**
+     * {@link #aveAri(float...)} of three inputs, without an array
+     */
+    public static float aveAri(float a, float b, float c) {
+        return (a + b + c) / 3;
+    }
 }
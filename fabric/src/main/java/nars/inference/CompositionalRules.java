@@ -574,8 +574,8 @@ public final class CompositionalRules {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue reduceConjunctionNeg(TruthHandle v1, TruthHandle v2) {
-		return TruthFunctions
-				.reduceConjunction(v1, TruthFunctions.negation(v2));
+		return TruthFunctions.truth(TruthFunctions.reduceConjunction(v1.getFrequency(), v1.getConfidence(),
+				1 - v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -588,8 +588,8 @@ public final class CompositionalRules {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue reduceDisjunction(TruthHandle v1, TruthHandle v2) {
-		TruthValue v0 = TruthFunctions.intersection(v1,
-				TruthFunctions.negation(v2));
-		return TruthFunctions.deduction(v0, 1f);
+		long v0 = TruthFunctions.intersection(v1.getFrequency(), v1.getConfidence(),
+				1 - v2.getFrequency(), v2.getConfidence());
+		return TruthFunctions.truth(TruthFunctions.deduction(TruthFunctions.frequency(v0), TruthFunctions.confidence(v0), 1f));
 	}
 }
@@ -0,0 +1,211 @@
+package nars.inference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Counters and timers of the inference rules.
+ * <p>
+ * The cells of the rule tables in RuleTables, the syllogistic,
+ * compositional and structural rules called from them, and the few rules
+ * called outside the tables, are bracketed with {@link #enter} and
+ * {@link #exit}; the Tasks derived in between are counted against the
+ * innermost rule entered, as they are made, pass the budget threshold, and
+ * are kept in the new Tasks of the memory. Times include the rules called
+ * from a rule.
+ * <p>
+ * Each thread counts into its own array, so a reasoner never waits on
+ * another; {@link #dump} adds them up, reading without locks, so a dump
+ * taken while reasoners run may be a little behind. When disabled, the only
+ * cost is the check of a static flag.
+ */
+public final class RuleProfiler {
+
+    /**
+     * The instrumented rules
+     */
+    public enum Rule {
+        REASON("RuleTables.reason"),
+        TRANSFORM_TASK("RuleTables.transformTask"),
+        MATCH("LocalRules.match"),
+        REVISION("LocalRules.revision"),
+        TRY_SOLUTION("LocalRules.trySolution"),
+        COMPOUND_AND_SELF("RuleTables.compoundAndSelf"),
+        COMPOUND_AND_COMPOUND("RuleTables.compoundAndCompound"),
+        COMPOUND_AND_STATEMENT("RuleTables.compoundAndStatement"),
+        COMPONENT_AND_STATEMENT("RuleTables.componentAndStatement"),
+        DETACHMENT("RuleTables.detachment"),
+        CONDITIONAL("RuleTables.conditionalDedInd/conditionalAna"),
+        CONDITIONAL_DED_IND("RuleTables.conditionalDedInd"),
+        CONDITIONAL_DED_IND_WITH_VAR("RuleTables.conditionalDedIndWithVar"),
+        SYLLOGISMS("RuleTables.syllogisms"),
+        DETACHMENT_WITH_VAR("RuleTables.detachmentWithVar"),
+        ASYMMETRIC_ASYMMETRIC("RuleTables.asymmetricAsymmetric"),
+        ASYMMETRIC_SYMMETRIC("RuleTables.asymmetricSymmetric"),
+        SYMMETRIC_SYMMETRIC("RuleTables.symmetricSymmetric"),
+        DED_EXE("RuleTables.dedExe"),
+        ABD_IND_COM("RuleTables.abdIndCom"),
+        CONDITIONAL_ABD("RuleTables.conditionalAbd"),
+        ANALOGY("SyllogisticRules.analogy"),
+        RESEMBLANCE("SyllogisticRules.resemblance"),
+        COMPOSE_COMPOUND("CompositionalRules.composeCompound"),
+        INTRO_VAR_INNER("CompositionalRules.introVarInner"),
+        DECOMPOSE_STATEMENT("RuleTables.decomposeStatement"),
+        ELIMI_VAR_DEP("RuleTables.elimiVarDep"),
+        STRUCTURAL_COMPOUND("StructuralRules.structuralCompound"),
+        STRUCTURAL_COMPOSE_1("StructuralRules.structuralCompose1"),
+        STRUCTURAL_COMPOSE_2("StructuralRules.structuralCompose2"),
+        STRUCTURAL_DECOMPOSE_1("StructuralRules.structuralDecompose1"),
+        STRUCTURAL_DECOMPOSE_2("StructuralRules.structuralDecompose2"),
+        TRANSFORM_NEGATION("RuleTables.transformNegation"),
+        TRANSFORM_SET_RELATION("RuleTables.transformSetRelation"),
+        CONTRAPOSITION("RuleTables.contraposition"),
+        TRANSFORM_PRODUCT_IMAGE("StructuralRules.transformProductImage");
+
+        /**
+         * The class and method of the rule
+         */
+        public final String label;
+
+        Rule(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Rule[] RULES = Rule.values();
+
+    /* the counters of a rule, in order */
+    private static final int CALLS = 0, NANOS = 1, DERIVED = 2, ABOVE_THRESHOLD = 3, KEPT = 4, FIELDS = 5;
+
+    /**
+     * The counters of one thread, and the rules it is in
+     */
+    private static final class Counters {
+        final long[] values = new long[RULES.length * FIELDS];
+        int[] stack = new int[8];
+        int depth;
+    }
+
+    private static volatile boolean enabled;
+    /** the counters of every thread that ever counted */
+    private static final List<Counters> THREADS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Counters> COUNTERS = ThreadLocal.withInitial(() -> {
+        Counters counters = new Counters();
+        THREADS.add(counters);
+        return counters;
+    });
+
+    private RuleProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        RuleProfiler.enabled = enabled;
+    }
+
+    /**
+     * Start a rule
+     * @param rule The rule entered
+     * @return The start time, to be given to {@link #exit}; 0 when disabled
+     */
+    public static long enter(Rule rule) {
+        if (!enabled) {
+            return 0;
+        }
+        Counters counters = COUNTERS.get();
+        if (counters.depth == counters.stack.length) {
+            counters.stack = Arrays.copyOf(counters.stack, counters.depth * 2);
+        }
+        counters.stack[counters.depth++] = rule.ordinal();
+        counters.values[rule.ordinal() * FIELDS + CALLS]++;
+        return System.nanoTime();
+    }
+
+    /**
+     * End a rule, in a finally block
+     * @param rule The rule left
+     * @param start The value returned by {@link #enter}
+     */
+    public static void exit(Rule rule, long start) {
+        if (0 == start) {
+            return;
+        }
+        Counters counters = COUNTERS.get();
+        counters.values[rule.ordinal() * FIELDS + NANOS] += System.nanoTime() - start;
+        counters.depth--;
+    }
+
+    /**
+     * Count a Task derived by the current rule
+     * <p>
+     * called in Memory.derivedTask
+     * @param aboveThreshold Whether its budget passed the threshold
+     */
+    public static void derived(boolean aboveThreshold) {
+        count(DERIVED);
+        if (aboveThreshold) {
+            count(ABOVE_THRESHOLD);
+        }
+    }
+
+    /**
+     * Count a Task of the current rule kept in the new Tasks of the memory
+     * <p>
+     * called in Memory.derivedTask
+     */
+    public static void kept() {
+        count(KEPT);
+    }
+
+    private static void count(int field) {
+        if (enabled) {
+            Counters counters = COUNTERS.get();
+            if (counters.depth > 0) {
+                counters.values[counters.stack[counters.depth - 1] * FIELDS + field]++;
+            }
+        }
+    }
+
+    /**
+     * Clear the counters of all threads
+     */
+    public static void reset() {
+        for (Counters counters : THREADS) {
+            Arrays.fill(counters.values, 0);
+        }
+    }
+
+    /**
+     * The counters of all threads added up, one line per rule used, the
+     * most time consuming first
+     * @return The table as text
+     */
+    public static String dump() {
+        long[] total = new long[RULES.length * FIELDS];
+        for (Counters counters : THREADS) {
+            for (int i = 0; i < total.length; i++) {
+                total[i] += counters.values[i];
+            }
+        }
+        List<Rule> used = new ArrayList<>();
+        for (Rule rule : RULES) {
+            if (total[rule.ordinal() * FIELDS + CALLS] > 0) {
+                used.add(rule);
+            }
+        }
+        used.sort((a, b) -> Long.compare(total[b.ordinal() * FIELDS + NANOS], total[a.ordinal() * FIELDS + NANOS]));
+        StringBuilder buf = new StringBuilder(String.format("%-40s %10s %12s %10s %10s %10s%n",
+                "rule", "calls", "micros", "derived", "above", "kept"));
+        for (Rule rule : used) {
+            int i = rule.ordinal() * FIELDS;
+            buf.append(String.format("%-40s %10d %12d %10d %10d %10d%n", rule.label,
+                    total[i + CALLS], total[i + NANOS] / 1000, total[i + DERIVED], total[i + ABOVE_THRESHOLD], total[i + KEPT]));
+        }
+        return buf.toString();
+    }
+}
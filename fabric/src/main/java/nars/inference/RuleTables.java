@@ -25,8 +25,10 @@ import nars.data.TermLinkStruct;
 import nars.data.TermStruct;
 import nars.data.TruthHandle;
 import nars.entity.*;
+import nars.inference.RuleProfiler.Rule;
 import nars.io.Symbols;
 import nars.language.*;
+import nars.storage.DerivationCache;
 import nars.storage.Memory;
 
 import java.util.HashMap;
@@ -39,9 +41,152 @@ import static nars.inference.BudgetFunctions.compoundForward;
  * Table of inference rules, indexed by the TermLinks for the task and the
  * belief. Used in indirective processing of a task, to dispatch inference cases
  * to the relevant inference rules.
+ * <p>
+ * The tables are built once: the premise table by the two TermLink types, the
+ * syllogism table by the opcodes of the two statements, and the structural
+ * rules by the opcodes of the compound and the statement. A combination with
+ * no rule is an empty cell, so it costs one array read. Each rule of the
+ * premise and syllogism tables is entered into the RuleProfiler as it is
+ * applied, under the rule it calls, and so is each rule called from a cell,
+ * under its own name.
  */
 public class RuleTables {
 
+    /**
+     * The rules of a cell of the premise table
+     */
+    private interface LinkRule {
+        void apply(TaskLink tLink, TermLink bLink, Term taskTerm, Term beliefTerm, Memory memory);
+    }
+
+    /**
+     * The rules of a cell of the syllogism table
+     */
+    private interface Syllogism {
+        void apply(TaskLink tLink, TermLink bLink, Sentence taskSentence, Sentence belief, Memory memory);
+    }
+
+    /** TermLink types, TRANSFORM the last */
+    private static final int LINK_TYPES = TermLink.TRANSFORM + 1;
+    /** rules by TaskLink type and TermLink type, null where none applies */
+    private static final LinkRule[] LINK_RULES = new LinkRule[LINK_TYPES * LINK_TYPES];
+    /** whether the rules of a cell need a belief */
+    private static final boolean[] NEEDS_BELIEF = new boolean[LINK_TYPES * LINK_TYPES];
+    /** syllogistic rules by task relation and belief relation, null where none applies */
+    private static final Syllogism[] SYLLOGISMS = new Syllogism[Operator.COUNT * Operator.COUNT];
+
+    /* the structural rules of a compound and a statement, as bits */
+    private static final int DECOMPOSE_1 = 1, DECOMPOSE_2 = 2, SET_RELATION = 4, CONTRAPOSITION = 8,
+            COMPOSE_1 = 16, COMPOSE_2 = 32;
+    /** structural rules by compound operator and statement relation */
+    private static final byte[] STRUCTURAL = new byte[Operator.COUNT * Operator.COUNT];
+
+    static {
+        link(TermLink.SELF, TermLink.COMPONENT, false, Rule.COMPOUND_AND_SELF, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                compoundAndSelf((CompoundTerm) taskTerm, beliefTerm, true, memory));
+        link(TermLink.SELF, TermLink.COMPOUND, false, Rule.COMPOUND_AND_SELF, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                compoundAndSelf((CompoundTerm) beliefTerm, taskTerm, false, memory));
+        link(TermLink.SELF, TermLink.COMPONENT_STATEMENT, true, Rule.DETACHMENT, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                detachment(memory.getCurrentTask().getSentence(), memory.getCurrentBelief(), bLink.getIndex(0), memory));
+        link(TermLink.SELF, TermLink.COMPOUND_STATEMENT, true, Rule.DETACHMENT, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                detachment(memory.getCurrentBelief(), memory.getCurrentTask().getSentence(), bLink.getIndex(0), memory));
+        link(TermLink.SELF, TermLink.COMPONENT_CONDITION, true, Rule.CONDITIONAL_DED_IND, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                conditionalDedInd((Implication) taskTerm, bLink.getIndex(1), beliefTerm, tLink.getIndex(0), memory));
+        link(TermLink.SELF, TermLink.COMPOUND_CONDITION, true, Rule.CONDITIONAL_DED_IND, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                conditionalDedInd((Implication) beliefTerm, bLink.getIndex(1), taskTerm, tLink.getIndex(0), memory));
+        link(TermLink.COMPOUND, TermLink.COMPOUND, false, Rule.COMPOUND_AND_COMPOUND, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                compoundAndCompound((CompoundTerm) taskTerm, (CompoundTerm) beliefTerm, memory));
+        link(TermLink.COMPOUND, TermLink.COMPOUND_STATEMENT, false, Rule.COMPOUND_AND_STATEMENT, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                compoundAndStatement((CompoundTerm) taskTerm, tLink.getIndex(0), (Statement) beliefTerm, bLink.getIndex(0), beliefTerm, memory));
+        link(TermLink.COMPOUND, TermLink.COMPOUND_CONDITION, true, Rule.CONDITIONAL, (tLink, bLink, taskTerm, beliefTerm, memory) -> {
+            if (beliefTerm instanceof Implication) {
+                conditionalDedInd((Implication) beliefTerm, bLink.getIndex(0), taskTerm, -1, memory);
+            } else if (beliefTerm instanceof Equivalence) {
+                conditionalAna((Equivalence) beliefTerm, bLink.getIndex(0), taskTerm, -1, memory);
+            }
+        });
+        link(TermLink.COMPOUND_STATEMENT, TermLink.COMPONENT, false, Rule.COMPONENT_AND_STATEMENT, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                componentAndStatement((CompoundTerm) memory.getCurrentTerm(), bLink.getIndex(0), (Statement) taskTerm, tLink.getIndex(0), memory));
+        link(TermLink.COMPOUND_STATEMENT, TermLink.COMPOUND, false, Rule.COMPOUND_AND_STATEMENT, (tLink, bLink, taskTerm, beliefTerm, memory) ->
+                compoundAndStatement((CompoundTerm) beliefTerm, bLink.getIndex(0), (Statement) taskTerm, tLink.getIndex(0), beliefTerm, memory));
+        link(TermLink.COMPOUND_STATEMENT, TermLink.COMPOUND_STATEMENT, true, Rule.SYLLOGISMS, RuleTables::syllogisms);
+        link(TermLink.COMPOUND_STATEMENT, TermLink.COMPOUND_CONDITION, true, Rule.CONDITIONAL_DED_IND_WITH_VAR, (tLink, bLink, taskTerm, beliefTerm, memory) -> {
+            if (beliefTerm instanceof Implication) {
+                conditionalDedIndWithVar((Implication) beliefTerm, bLink.getIndex(1), (Statement) taskTerm, tLink.getIndex(0), memory);
+            }
+        });
+        link(TermLink.COMPOUND_CONDITION, TermLink.COMPOUND_STATEMENT, true, Rule.CONDITIONAL_DED_IND_WITH_VAR, (tLink, bLink, taskTerm, beliefTerm, memory) -> {
+            if (taskTerm instanceof Implication) {
+                conditionalDedIndWithVar((Implication) taskTerm, tLink.getIndex(0), (Statement) beliefTerm, bLink.getIndex(0), memory);
+            }
+        });
+
+        for (Operator other : Operator.values()) {
+            syllogism(Operator.INHERITANCE, other, Rule.DETACHMENT_WITH_VAR, (tLink, bLink, taskSentence, belief, memory) ->
+                    detachmentWithVar(belief, taskSentence, bLink.getIndex(0), memory));
+        }
+        syllogism(Operator.INHERITANCE, Operator.INHERITANCE, Rule.ASYMMETRIC_ASYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                asymmetricAsymmetric(taskSentence, belief, indexToFigure(tLink, bLink), memory));
+        syllogism(Operator.INHERITANCE, Operator.SIMILARITY, Rule.ASYMMETRIC_SYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                asymmetricSymmetric(taskSentence, belief, indexToFigure(tLink, bLink), memory));
+        syllogism(Operator.SIMILARITY, Operator.INHERITANCE, Rule.ASYMMETRIC_SYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                asymmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), memory));
+        syllogism(Operator.SIMILARITY, Operator.SIMILARITY, Rule.SYMMETRIC_SYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                symmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), memory));
+        syllogism(Operator.IMPLICATION, Operator.IMPLICATION, Rule.ASYMMETRIC_ASYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                asymmetricAsymmetric(taskSentence, belief, indexToFigure(tLink, bLink), memory));
+        syllogism(Operator.IMPLICATION, Operator.EQUIVALENCE, Rule.ASYMMETRIC_SYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                asymmetricSymmetric(taskSentence, belief, indexToFigure(tLink, bLink), memory));
+        syllogism(Operator.EQUIVALENCE, Operator.IMPLICATION, Rule.ASYMMETRIC_SYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                asymmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), memory));
+        syllogism(Operator.EQUIVALENCE, Operator.EQUIVALENCE, Rule.SYMMETRIC_SYMMETRIC, (tLink, bLink, taskSentence, belief, memory) ->
+                symmetricSymmetric(belief, taskSentence, indexToFigure(bLink, tLink), memory));
+        for (Operator task : new Operator[]{Operator.IMPLICATION, Operator.EQUIVALENCE}) {
+            syllogism(task, Operator.INHERITANCE, Rule.DETACHMENT_WITH_VAR, (tLink, bLink, taskSentence, belief, memory) ->
+                    detachmentWithVar(taskSentence, belief, tLink.getIndex(0), memory));
+        }
+
+        for (Operator compound : Operator.values()) {
+            boolean set = compound == Operator.SET_EXT || compound == Operator.SET_INT;
+            structural(compound, Operator.INHERITANCE, DECOMPOSE_1 | (set ? SET_RELATION : DECOMPOSE_2)
+                    | COMPOSE_1 | (set || compound == Operator.NEGATION ? 0 : COMPOSE_2));
+            structural(compound, Operator.SIMILARITY, DECOMPOSE_2 | (set ? SET_RELATION : 0)
+                    | (compound == Operator.CONJUNCTION ? 0 : COMPOSE_2));
+        }
+        structural(Operator.NEGATION, Operator.IMPLICATION, CONTRAPOSITION);
+    }
+
+    private static void link(int taskLinkType, int termLinkType, boolean needsBelief, Rule profiled, LinkRule rule) {
+        LINK_RULES[taskLinkType * LINK_TYPES + termLinkType] = (tLink, bLink, taskTerm, beliefTerm, memory) -> {
+            long start = RuleProfiler.enter(profiled);
+            try {
+                rule.apply(tLink, bLink, taskTerm, beliefTerm, memory);
+            } finally {
+                RuleProfiler.exit(profiled, start);
+            }
+        };
+        NEEDS_BELIEF[taskLinkType * LINK_TYPES + termLinkType] = needsBelief;
+    }
+
+    private static void syllogism(Operator task, Operator belief, Rule profiled, Syllogism rule) {
+        SYLLOGISMS[task.code * Operator.COUNT + belief.code] = (tLink, bLink, taskSentence, beliefSentence, memory) -> {
+            long start = RuleProfiler.enter(profiled);
+            try {
+                rule.apply(tLink, bLink, taskSentence, beliefSentence, memory);
+            } finally {
+                RuleProfiler.exit(profiled, start);
+            }
+        };
+    }
+
+    private static void structural(Operator compound, Operator statement, int rules) {
+        STRUCTURAL[compound.code * Operator.COUNT + statement.code] = (byte) rules;
+    }
+
+    private static int structural(Term compound, Term statement) {
+        return STRUCTURAL[compound.opcode().code * Operator.COUNT + statement.opcode().code];
+    }
+
     /**
      * Entry point of the inference engine
      *
@@ -63,126 +208,29 @@ public class RuleTables {
             belief = beliefConcept.getBelief(task);
         }
         memory.setCurrentBelief(belief); // may be null
+        DerivationCache derivations = memory.getDerivationCache();
+        if (derivations.isBarren(task, belief, tLink, bLink)) {
+            return;
+        }
+        long conclusions = memory.getConclusionCount();
         if (null != belief) {
-            LocalRules.match(task, belief, memory);
+            long start = RuleProfiler.enter(Rule.MATCH);
+            try {
+                LocalRules.match(task, belief, memory);
+            } finally {
+                RuleProfiler.exit(Rule.MATCH, start);
+            }
         }
         if (!Memory.noResult(memory)) {
             return;
         }
-        Integer tIndex = tLink.getIndex(0);
-        Integer bIndex = bLink.getIndex(0);
-        switch (tLink.getType()) { // dispatch first by TaskLink type
-            case TermLink.SELF:
-                switch (bLink.getType()) {
-                    case TermLink.COMPONENT:
-                        compoundAndSelf((CompoundTerm) taskTerm, beliefTerm,
-                                true, memory);
-                        break;
-                    case TermLink.COMPOUND:
-                        compoundAndSelf((CompoundTerm) beliefTerm, taskTerm,
-                                false, memory);
-                        break;
-                    case TermLink.COMPONENT_STATEMENT:
-                        if (null != belief) {
-                            detachment(task.getSentence(),
-                                    belief, bIndex, memory);
-                        }
-                        break;
-                    case TermLink.COMPOUND_STATEMENT:
-                        if (null != belief) {
-                            detachment(belief,
-                                    task.getSentence(), bIndex, memory);
-                        }
-                        break;
-                    case TermLink.COMPONENT_CONDITION:
-                        if (null != belief) {
-                            bIndex = bLink.getIndex(1);
-                            conditionalDedInd(
-                                    (Implication) taskTerm, bIndex, beliefTerm,
-                                    tIndex, memory);
-                        }
-                        break;
-                    case TermLink.COMPOUND_CONDITION:
-                        if (null != belief) {
-                            bIndex = bLink.getIndex(1);
-                            conditionalDedInd(
-                                    (Implication) beliefTerm, bIndex, taskTerm,
-                                    tIndex, memory);
-                        }
-                        break;
-                }
-                break;
-            case TermLink.COMPOUND:
-                switch (bLink.getType()) {
-                    case TermLink.COMPOUND:
-                        compoundAndCompound((CompoundTerm) taskTerm,
-                                (CompoundTerm) beliefTerm, memory);
-                        break;
-                    case TermLink.COMPOUND_STATEMENT:
-                        compoundAndStatement((CompoundTerm) taskTerm, tIndex,
-                                (Statement) beliefTerm, bIndex, beliefTerm,
-                                memory);
-                        break;
-                    case TermLink.COMPOUND_CONDITION:
-                        if (null != belief) {
-                            if (beliefTerm instanceof Implication) {
-                                conditionalDedInd(
-                                        (Implication) beliefTerm, bIndex,
-                                        taskTerm, -1, memory);
-                            } else if (beliefTerm instanceof Equivalence) {
-                                conditionalAna(
-                                        (Equivalence) beliefTerm, bIndex,
-                                        taskTerm, -1, memory);
-                            }
-                        }
-                        break;
-                }
-                break;
-            case TermLink.COMPOUND_STATEMENT:
-                switch (bLink.getType()) {
-                    case TermLink.COMPONENT:
-                        componentAndStatement(
-                                (CompoundTerm) memory.getCurrentTerm(), bIndex,
-                                (Statement) taskTerm, tIndex, memory);
-                        break;
-                    case TermLink.COMPOUND:
-                        compoundAndStatement((CompoundTerm) beliefTerm, bIndex,
-                                (Statement) taskTerm, tIndex, beliefTerm,
-                                memory);
-                        break;
-                    case TermLink.COMPOUND_STATEMENT:
-                        if (null != belief) {
-                            // bIndex = bLink.getIndex(1);
-                            syllogisms(tLink, bLink, taskTerm, beliefTerm,
-                                    memory);
-                        }
-                        break;
-                    case TermLink.COMPOUND_CONDITION:
-                        if (null != belief) {
-                            bIndex = bLink.getIndex(1);
-                            if (beliefTerm instanceof Implication) {
-                                conditionalDedIndWithVar(
-                                        (Implication) beliefTerm, bIndex,
-                                        (Statement) taskTerm, tIndex, memory);
-                            }
-                        }
-                        break;
-                }
-                break;
-            case TermLink.COMPOUND_CONDITION:
-                switch (bLink.getType()) {
-                    case TermLink.COMPOUND_STATEMENT:
-                        if (null != belief) {
-                            if (taskTerm instanceof Implication)
-                                // TODO maybe put instanceof test within
-                                // conditionalDedIndWithVar()
-                                conditionalDedIndWithVar(
-                                        (Implication) taskTerm, tIndex,
-                                        (Statement) beliefTerm, bIndex, memory);
-                        }
-                        break;
-                }
-                break;
+        int cell = tLink.getType() * LINK_TYPES + bLink.getType();
+        LinkRule rule = LINK_RULES[cell];
+        if (null != rule && (null != belief || !NEEDS_BELIEF[cell])) {
+            rule.apply(tLink, bLink, taskTerm, beliefTerm, memory);
+        }
+        if (conclusions == memory.getConclusionCount() && Memory.noResult(memory)) {
+            derivations.addBarren(task, belief, tLink, bLink);
         }
     }
 
@@ -200,50 +248,9 @@ public class RuleTables {
      */
     private static void syllogisms(TaskLink tLink, TermLink bLink,
                                    Term taskTerm, Term beliefTerm, Memory memory) {
-        Sentence taskSentence = memory.getCurrentTask().getSentence();
-        Sentence belief = memory.getCurrentBelief();
-        int figure;
-        if (taskTerm instanceof Inheritance) {
-            if (beliefTerm instanceof Inheritance) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricAsymmetric(taskSentence, belief, figure, memory);
-            } else if (beliefTerm instanceof Similarity) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(taskSentence, belief, figure, memory);
-            } else {
-                detachmentWithVar(belief, taskSentence, bLink.getIndex(0),
-                        memory);
-            }
-        } else if (taskTerm instanceof Similarity) {
-            if (beliefTerm instanceof Inheritance) {
-                figure = indexToFigure(bLink, tLink);
-                asymmetricSymmetric(belief, taskSentence, figure, memory);
-            } else if (beliefTerm instanceof Similarity) {
-                figure = indexToFigure(bLink, tLink);
-                symmetricSymmetric(belief, taskSentence, figure, memory);
-            }
-        } else if (taskTerm instanceof Implication) {
-            if (beliefTerm instanceof Implication) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricAsymmetric(taskSentence, belief, figure, memory);
-            } else if (beliefTerm instanceof Equivalence) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(taskSentence, belief, figure, memory);
-            } else if (beliefTerm instanceof Inheritance) {
-                detachmentWithVar(taskSentence, belief, tLink.getIndex(0),
-                        memory);
-            }
-        } else if (taskTerm instanceof Equivalence) {
-            if (beliefTerm instanceof Implication) {
-                figure = indexToFigure(bLink, tLink);
-                asymmetricSymmetric(belief, taskSentence, figure, memory);
-            } else if (beliefTerm instanceof Equivalence) {
-                figure = indexToFigure(bLink, tLink);
-                symmetricSymmetric(belief, taskSentence, figure, memory);
-            } else if (beliefTerm instanceof Inheritance) {
-                detachmentWithVar(taskSentence, belief, tLink.getIndex(0),
-                        memory);
-            }
+        Syllogism rule = SYLLOGISMS[taskTerm.opcode().code * Operator.COUNT + beliefTerm.opcode().code];
+        if (null != rule) {
+            rule.apply(tLink, bLink, memory.getCurrentTask().getSentence(), memory.getCurrentBelief(), memory);
         }
     }
 
@@ -281,9 +288,9 @@ public class RuleTables {
                     }
                     t1 = s2.getPredicate();
                     t2 = s1.getPredicate();
-                    abdIndCom(t1, t2, sentence, belief,
+                    Profiled.abdIndCom(t1, t2, sentence, belief,
                             figure, memory);
-                    CompositionalRules.composeCompound(s1, s2, 0, memory);
+                    Profiled.composeCompound(s1, s2, 0, memory);
                 }
 
                 break;
@@ -298,7 +305,7 @@ public class RuleTables {
                     if (Variable.unify(Symbols.VAR_QUERY, t1, t2, s1, s2)) {
                         LocalRules.matchReverse(memory);
                     } else {
-                        dedExe(t1, t2, sentence, belief,
+                        Profiled.dedExe(t1, t2, sentence, belief,
                                 memory);
                     }
                 }
@@ -314,7 +321,7 @@ public class RuleTables {
                     if (Variable.unify(Symbols.VAR_QUERY, t1, t2, s1, s2)) {
                         LocalRules.matchReverse(memory);
                     } else {
-                        dedExe(t1, t2, sentence, belief,
+                        Profiled.dedExe(t1, t2, sentence, belief,
                                 memory);
                     }
                 }
@@ -328,15 +335,15 @@ public class RuleTables {
                     t1 = s1.getSubject();
                     t2 = s2.getSubject();
                     if (!
-                            conditionalAbd(t1, t2, s1, s2, memory)) { // if
+                            Profiled.conditionalAbd(t1, t2, s1, s2, memory)) { // if
                         // conditional
                         // abduction,
                         // skip
                         // the
                         // following
-                        abdIndCom(t1, t2, sentence, belief,
+                        Profiled.abdIndCom(t1, t2, sentence, belief,
                                 figure, memory);
-                        CompositionalRules.composeCompound(s1, s2, 1, memory);
+                        Profiled.composeCompound(s1, s2, 1, memory);
                     }
                 }
                 break;
@@ -368,7 +375,7 @@ public class RuleTables {
                             .unify(Symbols.VAR_QUERY, t1, t2, asymSt, symSt)) {
                         LocalRules.matchAsymSym(asym, sym, figure, memory);
                     } else {
-                        SyllogisticRules.analogy(t2, t1, asym, sym, figure,
+                        Profiled.analogy(t2, t1, asym, sym, figure,
                                 memory);
                     }
                 }
@@ -383,7 +390,7 @@ public class RuleTables {
                             .unify(Symbols.VAR_QUERY, t1, t2, asymSt, symSt)) {
                         LocalRules.matchAsymSym(asym, sym, figure, memory);
                     } else {
-                        SyllogisticRules.analogy(t2, t1, asym, sym, figure,
+                        Profiled.analogy(t2, t1, asym, sym, figure,
                                 memory);
                     }
                 }
@@ -398,7 +405,7 @@ public class RuleTables {
                             .unify(Symbols.VAR_QUERY, t1, t2, asymSt, symSt)) {
                         LocalRules.matchAsymSym(asym, sym, figure, memory);
                     } else {
-                        SyllogisticRules.analogy(t1, t2, asym, sym, figure,
+                        Profiled.analogy(t1, t2, asym, sym, figure,
                                 memory);
                     }
                 }
@@ -413,7 +420,7 @@ public class RuleTables {
                             .unify(Symbols.VAR_QUERY, t1, t2, asymSt, symSt)) {
                         LocalRules.matchAsymSym(asym, sym, figure, memory);
                     } else {
-                        SyllogisticRules.analogy(t1, t2, asym, sym, figure,
+                        Profiled.analogy(t1, t2, asym, sym, figure,
                                 memory);
                     }
                 }
@@ -437,7 +444,7 @@ public class RuleTables {
             case 11:
                 if (Variable.unify(Symbols.VAR_INDEPENDENT, s1.getSubject(),
                         s2.getSubject(), s1, s2)) {
-                    SyllogisticRules.resemblance(s1.getPredicate(),
+                    Profiled.resemblance(s1.getPredicate(),
                             s2.getPredicate(), belief, taskSentence, figure,
                             memory);
                 }
@@ -445,7 +452,7 @@ public class RuleTables {
             case 12:
                 if (Variable.unify(Symbols.VAR_INDEPENDENT, s1.getSubject(),
                         s2.getPredicate(), s1, s2)) {
-                    SyllogisticRules.resemblance(s1.getPredicate(),
+                    Profiled.resemblance(s1.getPredicate(),
                             s2.getSubject(), belief, taskSentence, figure,
                             memory);
                 }
@@ -453,7 +460,7 @@ public class RuleTables {
             case 21:
                 if (Variable.unify(Symbols.VAR_INDEPENDENT, s1.getPredicate(),
                         s2.getSubject(), s1, s2)) {
-                    SyllogisticRules.resemblance(s1.getSubject(),
+                    Profiled.resemblance(s1.getSubject(),
                             s2.getPredicate(), belief, taskSentence, figure,
                             memory);
                 }
@@ -461,7 +468,7 @@ public class RuleTables {
             case 22:
                 if (Variable.unify(Symbols.VAR_INDEPENDENT, s1.getPredicate(),
                         s2.getPredicate(), s1, s2)) {
-                    SyllogisticRules.resemblance(s1.getSubject(),
+                    Profiled.resemblance(s1.getSubject(),
                             s2.getSubject(), belief, taskSentence, figure,
                             memory);
                 }
@@ -500,7 +507,7 @@ public class RuleTables {
                     && memory.getCurrentTask().getSentence().isJudgment()) {
                 Statement s2 = (Statement) statement.getPredicate();
                 if (s2.getSubject().equals(((Statement) content).getSubject())) {
-                    CompositionalRules.introVarInner((Statement) content, s2,
+                    Profiled.introVarInner((Statement) content, s2,
                             statement, memory);
                 }
             }
@@ -551,19 +558,19 @@ public class RuleTables {
         if (compound instanceof Conjunction
                 || compound instanceof Disjunction) {
             if (null != memory.getCurrentBelief()) {
-                decomposeStatement(compound, component,
+                Profiled.decomposeStatement(compound, component,
                         compoundTask, memory);
             } else if (compound.containComponent(component)) {
-                StructuralRules.structuralCompound(compound, component,
+                Profiled.structuralCompound(compound, component,
                         compoundTask, memory);
             }
         } else if (compound instanceof Negation
                 && !memory.getCurrentTask().isStructural()) {
             if (compoundTask) {
-                transformNegation(
+                Profiled.transformNegation(
                         compound.componentAt(0), memory);
             } else {
-                transformNegation(compound, memory);
+                Profiled.transformNegation(compound, memory);
             }
         }
     }
@@ -606,32 +613,26 @@ public class RuleTables {
                     && null != memory.getCurrentBelief()) {
                 if (Variable.unify(Symbols.VAR_DEPENDENT, component, statement,
                         compound, statement)) {
-                    elimiVarDep(compound, component,
+                    Profiled.elimiVarDep(compound, component,
                             statement.equals(beliefTerm), memory);
                 } else if (task.getSentence().isJudgment()) { // &&
                     // !compound.containComponent(component))
                     // {
-                    CompositionalRules.introVarInner(statement,
+                    Profiled.introVarInner(statement,
                             (Statement) component, compound, memory);
                 }
             }
         } else {
             if (!task.isStructural() && task.getSentence().isJudgment()) {
-                if (statement instanceof Inheritance) {
-                    StructuralRules.structuralCompose1(compound, index,
+                int rules = structural(compound, statement);
+                if (0 != (rules & COMPOSE_1)) {
+                    Profiled.structuralCompose1(compound, index,
                             statement, memory);
-                    // if (!(compound instanceof SetExt) && !(compound
-                    // instanceof SetInt)) {
-                    if (!(compound instanceof SetExt
-                            || compound instanceof SetInt || compound instanceof Negation)) {
-                        StructuralRules.structuralCompose2(compound, index,
-                                statement, side, memory);
-                    } // {A --> B, A @ (A&C)} |- (A&C) --> (B&C)
-                } else if (statement instanceof Similarity
-                        && !(compound instanceof Conjunction)) {
-                    StructuralRules.structuralCompose2(compound, index,
+                }
+                if (0 != (rules & COMPOSE_2)) {
+                    Profiled.structuralCompose2(compound, index,
                             statement, side, memory);
-                } // {A <-> B, A @ (A&C)} |- (A&C) <-> (B&C)
+                } // {A --> B, A @ (A&C)} |- (A&C) --> (B&C), {A <-> B, A @ (A&C)} |- (A&C) <-> (B&C)
             }
         }
     }
@@ -648,44 +649,20 @@ public class RuleTables {
     private static void componentAndStatement(CompoundTerm compound,
                                               Integer index, Statement statement, Integer side, Memory memory) {
         if (!memory.getCurrentTask().isStructural()) {
-            if (statement instanceof Inheritance) {
-                StructuralRules.structuralDecompose1(compound, index,
+            int rules = structural(compound, statement);
+            if (0 != (rules & DECOMPOSE_1)) {
+                Profiled.structuralDecompose1(compound, index,
                         statement, memory);
-                if (!(compound instanceof SetExt)
-                        && !(compound instanceof SetInt)) {
-                    StructuralRules.structuralDecompose2(statement, memory); // {(C-B)
-                    // -->
-                    // (C-A),
-                    // A
-                    // @
-                    // (C-A)}
-                    // |-
-                    // A
-                    // -->
-                    // B
-                } else {
-                    transformSetRelation(compound, statement,
-                            side, memory);
-                }
-            } else if (statement instanceof Similarity) {
-                StructuralRules.structuralDecompose2(statement, memory); // {(C-B)
-                // -->
-                // (C-A),
-                // A
-                // @
-                // (C-A)}
-                // |-
-                // A
-                // -->
-                // B
-                if (compound instanceof SetExt
-                        || compound instanceof SetInt) {
-                    transformSetRelation(compound, statement,
-                            side, memory);
-                }
-            } else if (statement instanceof Implication
-                    && compound instanceof Negation) {
-                contraposition(statement, memory);
+            }
+            if (0 != (rules & DECOMPOSE_2)) {
+                Profiled.structuralDecompose2(statement, memory); // {(C-B) --> (C-A), A @ (C-A)} |- A --> B
+            }
+            if (0 != (rules & SET_RELATION)) {
+                Profiled.transformSetRelation(compound, statement,
+                        side, memory);
+            }
+            if (0 != (rules & CONTRAPOSITION)) {
+                Profiled.contraposition(statement, memory);
             }
         }
     }
@@ -723,7 +700,7 @@ public class RuleTables {
             }
         }
         if (inh instanceof Inheritance) {
-            StructuralRules.transformProductImage((Inheritance) inh, content,
+            Profiled.transformProductImage((Inheritance) inh, content,
                     indices, memory);
         }
     }
@@ -1313,4 +1290,173 @@ public class RuleTables {
         float c = UtilityFunctions.w2c(w);
         return new TruthValue(0, c);
     }
+
+    /**
+     * The rules called from the cells, each entered into the RuleProfiler
+     * under its own name, so the profile tells them apart from the cell
+     */
+    private static final class Profiled {
+
+        static void dedExe(Term term1, Term term2, Sentence sentence, SentenceStruct belief, Memory memory) {
+            long start = RuleProfiler.enter(Rule.DED_EXE);
+            try {
+                RuleTables.dedExe(term1, term2, sentence, belief, memory);
+            } finally {
+                RuleProfiler.exit(Rule.DED_EXE, start);
+            }
+        }
+
+        static void abdIndCom(Term term1, Term term2, Sentence taskSentence, SentenceStruct belief, int figure, Memory memory) {
+            long start = RuleProfiler.enter(Rule.ABD_IND_COM);
+            try {
+                RuleTables.abdIndCom(term1, term2, taskSentence, belief, figure, memory);
+            } finally {
+                RuleProfiler.exit(Rule.ABD_IND_COM, start);
+            }
+        }
+
+        static boolean conditionalAbd(Term cond1, Term cond2, Statement st1, Statement st2, Memory memory) {
+            long start = RuleProfiler.enter(Rule.CONDITIONAL_ABD);
+            try {
+                return RuleTables.conditionalAbd(cond1, cond2, st1, st2, memory);
+            } finally {
+                RuleProfiler.exit(Rule.CONDITIONAL_ABD, start);
+            }
+        }
+
+        static void analogy(Term term1, Term term2, Sentence asym, SentenceStruct sym, int figure, Memory memory) {
+            long start = RuleProfiler.enter(Rule.ANALOGY);
+            try {
+                SyllogisticRules.analogy(term1, term2, asym, sym, figure, memory);
+            } finally {
+                RuleProfiler.exit(Rule.ANALOGY, start);
+            }
+        }
+
+        static void resemblance(Term term1, Term term2, Sentence belief, SentenceStruct sentence, int figure, Memory memory) {
+            long start = RuleProfiler.enter(Rule.RESEMBLANCE);
+            try {
+                SyllogisticRules.resemblance(term1, term2, belief, sentence, figure, memory);
+            } finally {
+                RuleProfiler.exit(Rule.RESEMBLANCE, start);
+            }
+        }
+
+        static void composeCompound(Statement taskContent, Statement beliefContent, int index, Memory memory) {
+            long start = RuleProfiler.enter(Rule.COMPOSE_COMPOUND);
+            try {
+                CompositionalRules.composeCompound(taskContent, beliefContent, index, memory);
+            } finally {
+                RuleProfiler.exit(Rule.COMPOSE_COMPOUND, start);
+            }
+        }
+
+        static void introVarInner(Statement premise1, Statement premise2, CompoundTerm oldCompound, Memory memory) {
+            long start = RuleProfiler.enter(Rule.INTRO_VAR_INNER);
+            try {
+                CompositionalRules.introVarInner(premise1, premise2, oldCompound, memory);
+            } finally {
+                RuleProfiler.exit(Rule.INTRO_VAR_INNER, start);
+            }
+        }
+
+        static void decomposeStatement(CompoundTerm compound, Term component, boolean compoundTask, Memory memory) {
+            long start = RuleProfiler.enter(Rule.DECOMPOSE_STATEMENT);
+            try {
+                RuleTables.decomposeStatement(compound, component, compoundTask, memory);
+            } finally {
+                RuleProfiler.exit(Rule.DECOMPOSE_STATEMENT, start);
+            }
+        }
+
+        static void elimiVarDep(CompoundTerm compound, Term component, boolean compoundTask, Memory memory) {
+            long start = RuleProfiler.enter(Rule.ELIMI_VAR_DEP);
+            try {
+                RuleTables.elimiVarDep(compound, component, compoundTask, memory);
+            } finally {
+                RuleProfiler.exit(Rule.ELIMI_VAR_DEP, start);
+            }
+        }
+
+        static void structuralCompound(CompoundTerm compound, Term component, boolean compoundTask, Memory memory) {
+            long start = RuleProfiler.enter(Rule.STRUCTURAL_COMPOUND);
+            try {
+                StructuralRules.structuralCompound(compound, component, compoundTask, memory);
+            } finally {
+                RuleProfiler.exit(Rule.STRUCTURAL_COMPOUND, start);
+            }
+        }
+
+        static void structuralCompose1(CompoundTerm compound, Integer index, Statement statement, Memory memory) {
+            long start = RuleProfiler.enter(Rule.STRUCTURAL_COMPOSE_1);
+            try {
+                StructuralRules.structuralCompose1(compound, index, statement, memory);
+            } finally {
+                RuleProfiler.exit(Rule.STRUCTURAL_COMPOSE_1, start);
+            }
+        }
+
+        static void structuralCompose2(CompoundTerm compound, Integer index, Statement statement, Integer side, Memory memory) {
+            long start = RuleProfiler.enter(Rule.STRUCTURAL_COMPOSE_2);
+            try {
+                StructuralRules.structuralCompose2(compound, index, statement, side, memory);
+            } finally {
+                RuleProfiler.exit(Rule.STRUCTURAL_COMPOSE_2, start);
+            }
+        }
+
+        static void structuralDecompose1(CompoundTerm compound, Integer index, Statement statement, Memory memory) {
+            long start = RuleProfiler.enter(Rule.STRUCTURAL_DECOMPOSE_1);
+            try {
+                StructuralRules.structuralDecompose1(compound, index, statement, memory);
+            } finally {
+                RuleProfiler.exit(Rule.STRUCTURAL_DECOMPOSE_1, start);
+            }
+        }
+
+        static void structuralDecompose2(Statement statement, Memory memory) {
+            long start = RuleProfiler.enter(Rule.STRUCTURAL_DECOMPOSE_2);
+            try {
+                StructuralRules.structuralDecompose2(statement, memory);
+            } finally {
+                RuleProfiler.exit(Rule.STRUCTURAL_DECOMPOSE_2, start);
+            }
+        }
+
+        static void transformNegation(Term content, Memory memory) {
+            long start = RuleProfiler.enter(Rule.TRANSFORM_NEGATION);
+            try {
+                RuleTables.transformNegation(content, memory);
+            } finally {
+                RuleProfiler.exit(Rule.TRANSFORM_NEGATION, start);
+            }
+        }
+
+        static void transformSetRelation(CompoundTerm compound, Statement statement, Integer side, Memory memory) {
+            long start = RuleProfiler.enter(Rule.TRANSFORM_SET_RELATION);
+            try {
+                RuleTables.transformSetRelation(compound, statement, side, memory);
+            } finally {
+                RuleProfiler.exit(Rule.TRANSFORM_SET_RELATION, start);
+            }
+        }
+
+        static void contraposition(Statement statement, Memory memory) {
+            long start = RuleProfiler.enter(Rule.CONTRAPOSITION);
+            try {
+                RuleTables.contraposition(statement, memory);
+            } finally {
+                RuleProfiler.exit(Rule.CONTRAPOSITION, start);
+            }
+        }
+
+        static void transformProductImage(Inheritance inh, CompoundTerm oldContent, List<Integer> indices, Memory memory) {
+            long start = RuleProfiler.enter(Rule.TRANSFORM_PRODUCT_IMAGE);
+            try {
+                StructuralRules.transformProductImage(inh, oldContent, indices, memory);
+            } finally {
+                RuleProfiler.exit(Rule.TRANSFORM_PRODUCT_IMAGE, start);
+            }
+        }
+    }
 }
@@ -26,6 +26,10 @@ import nars.storage.Parameters;
 
 /**
  * All truth-value (and desire-value) functions used in inference rules
+ * <p>
+ * Each function is computed on primitives, with the result packed into a
+ * long as two floats; the TruthValue versions unpack it into the one object
+ * they return. A chain of functions on packed values allocates nothing.
  */
 public final class TruthFunctions extends UtilityFunctions {
 
@@ -38,11 +42,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue conversion(TruthHandle v1) {
-		float f1 = v1.getFrequency();
-		float c1 = v1.getConfidence();
-		float w = and(f1, c1);
-		float c = w2c(w);
-		return new TruthValue(1, c);
+		return truth(conversion(v1.getFrequency(), v1.getConfidence()));
 	}
 
 	/* ----- Single argument functions, called in StructuralRules ----- */
@@ -54,9 +54,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue negation(TruthHandle v1) {
-		float f = 1 - v1.getFrequency();
-		float c = v1.getConfidence();
-		return new TruthValue(f, c);
+		return truth(negation(v1.getFrequency(), v1.getConfidence()));
 	}
 
 	/* ----- double argument functions, called in MatchingRules ----- */
@@ -70,16 +68,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue revision(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float w1 = c2w(c1);
-		float w2 = c2w(c2);
-		float w = w1 + w2;
-		float f = (w1 * f1 + w2 * f2) / w;
-		float c = w2c(w);
-		return new TruthValue(f, c);
+		return truth(revision(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/* ----- double argument functions, called in SyllogisticRules ----- */
@@ -93,13 +82,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue deduction(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2, f);
-		return new TruthValue(f, c);
+		return truth(deduction(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -112,10 +95,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue deduction(TruthHandle v1, float reliance) {
-		float f1 = v1.getFrequency();
-		float c1 = v1.getConfidence();
-		float c = and(f1, c1, reliance);
-		return new TruthValue(f1, c);
+		return truth(deduction(v1.getFrequency(), v1.getConfidence(), reliance));
 	}
 
 	/**
@@ -128,13 +108,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue analogy(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2, f2);
-		return new TruthValue(f, c);
+		return truth(analogy(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -147,13 +121,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue resemblance(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2, or(f1, f2));
-		return new TruthValue(f, c);
+		return truth(resemblance(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -168,13 +136,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue abduction(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float w = and(f2, c1, c2);
-		float c = w2c(w);
-		return new TruthValue(f1, c);
+		return truth(abduction(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -189,11 +151,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue abduction(TruthHandle v1, float reliance) {
-		float f1 = v1.getFrequency();
-		float c1 = v1.getConfidence();
-		float w = and(c1, reliance);
-		float c = w2c(w);
-		return new TruthValue(f1, c);
+		return truth(abduction(v1.getFrequency(), v1.getConfidence(), reliance));
 	}
 
 	/**
@@ -219,15 +177,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue comparison(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f0 = or(f1, f2);
-		float f = (f0 == 0) ? 0 : (and(f1, f2) / f0);
-		float w = and(f0, c1, c2);
-		float c = w2c(w);
-		return new TruthValue(f, c);
+		return truth(comparison(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/* ----- desire-value functions, called in SyllogisticRules ----- */
@@ -241,13 +191,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue desireStrong(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2, f2);
-		return new TruthValue(f, c);
+		return truth(desireStrong(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -260,13 +204,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue desireWeak(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2, f2, w2c(1.0f));
-		return new TruthValue(f, c);
+		return truth(desireWeak(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -279,13 +217,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue desireDed(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2);
-		return new TruthValue(f, c);
+		return truth(desireDed(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -298,13 +230,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue desireInd(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float w = and(f2, c1, c2);
-		float c = w2c(w);
-		return new TruthValue(f1, c);
+		return truth(desireInd(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/* ----- double argument functions, called in CompositionalRules ----- */
@@ -318,14 +244,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue union(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = or(f1, f2);
-		// float c = or(and(f1, c1), and(f2, c2)) + and(1 - f1, 1 - f2, c1, c2);
-		float c = and(c1, c2);
-		return new TruthValue(f, c);
+		return truth(union(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -338,13 +257,7 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue intersection(TruthHandle v1, TruthHandle v2) {
-		float f1 = v1.getFrequency();
-		float f2 = v2.getFrequency();
-		float c1 = v1.getConfidence();
-		float c2 = v2.getConfidence();
-		float f = and(f1, f2);
-		float c = and(c1, c2);
-		return new TruthValue(f, c);
+		return truth(intersection(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
 	}
 
 	/**
@@ -357,8 +270,181 @@ public final class TruthFunctions extends UtilityFunctions {
 	 * @return Truth value of the conclusion
 	 */
 	static TruthValue reduceConjunction(TruthHandle v1, TruthHandle v2) {
-		TruthValue v0 = intersection(negation(v1), v2);
-		return negation(deduction(v0, 1f));
+		return truth(reduceConjunction(v1.getFrequency(), v1.getConfidence(), v2.getFrequency(), v2.getConfidence()));
+	}
+
+	/* ----- the same functions on primitives ----- */
+
+	/**
+	 * Pack a truth value into a long, the frequency in the high half
+	 * 
+	 * @param f
+	 *            Frequency
+	 * @param c
+	 *            Confidence
+	 * @return The packed value
+	 */
+	public static long pack(float f, float c) {
+		return ((long) Float.floatToRawIntBits(f) << 32) | (Float.floatToRawIntBits(c) & 0xffffffffL);
+	}
+
+	/**
+	 * @param truth
+	 *            A packed truth value
+	 * @return Its frequency
+	 */
+	public static float frequency(long truth) {
+		return Float.intBitsToFloat((int) (truth >>> 32));
+	}
+
+	/**
+	 * @param truth
+	 *            A packed truth value
+	 * @return Its confidence
+	 */
+	public static float confidence(long truth) {
+		return Float.intBitsToFloat((int) truth);
+	}
+
+	/**
+	 * Unpack a truth value, once it is to be kept
+	 * 
+	 * @param truth
+	 *            A packed truth value
+	 * @return A new TruthValue
+	 */
+	public static TruthValue truth(long truth) {
+		return new TruthValue(frequency(truth), confidence(truth));
+	}
+
+	static long conversion(float f1, float c1) {
+		float w = and(f1, c1);
+		float c = w2c(w);
+		return pack(1, c);
+	}
+
+	static long negation(float f1, float c1) {
+		return pack(1 - f1, c1);
+	}
+
+	public static long revision(float f1, float c1, float f2, float c2) {
+		float w1 = c2w(c1);
+		float w2 = c2w(c2);
+		float w = w1 + w2;
+		float f = (w1 * f1 + w2 * f2) / w;
+		float c = w2c(w);
+		return pack(f, c);
+	}
+
+	/**
+	 * Revision of many judgments on the same content at once: their weights
+	 * of evidence add up, and the frequency is their weighted average
+	 * <p>
+	 * The same as revising them two by two, up to rounding, in one pass over
+	 * flat arrays that the compiler can unroll
+	 * 
+	 * @param f
+	 *            Frequencies of the judgments
+	 * @param c
+	 *            Confidences of the judgments, each below 1
+	 * @param n
+	 *            The number of judgments, at least one
+	 * @return The packed truth value of the conclusion
+	 */
+	public static long revision(float[] f, float[] c, int n) {
+		float w = 0;
+		float fw = 0;
+		for (int i = 0; i < n; i++) {
+			float wi = c2w(c[i]);
+			w += wi;
+			fw += wi * f[i];
+		}
+		return pack(fw / w, w2c(w));
+	}
+
+	static long deduction(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2, f);
+		return pack(f, c);
+	}
+
+	static long deduction(float f1, float c1, float reliance) {
+		float c = and(f1, c1, reliance);
+		return pack(f1, c);
+	}
+
+	static long analogy(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2, f2);
+		return pack(f, c);
+	}
+
+	static long resemblance(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2, or(f1, f2));
+		return pack(f, c);
+	}
+
+	static long abduction(float f1, float c1, float f2, float c2) {
+		float w = and(f2, c1, c2);
+		float c = w2c(w);
+		return pack(f1, c);
+	}
+
+	static long abduction(float f1, float c1, float reliance) {
+		float w = and(c1, reliance);
+		float c = w2c(w);
+		return pack(f1, c);
+	}
+
+	static long comparison(float f1, float c1, float f2, float c2) {
+		float f0 = or(f1, f2);
+		float f = (f0 == 0) ? 0 : (and(f1, f2) / f0);
+		float w = and(f0, c1, c2);
+		float c = w2c(w);
+		return pack(f, c);
+	}
+
+	static long desireStrong(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2, f2);
+		return pack(f, c);
+	}
+
+	static long desireWeak(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2, f2, w2c(1.0f));
+		return pack(f, c);
+	}
+
+	static long desireDed(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2);
+		return pack(f, c);
+	}
+
+	static long desireInd(float f1, float c1, float f2, float c2) {
+		float w = and(f2, c1, c2);
+		float c = w2c(w);
+		return pack(f1, c);
+	}
+
+	static long union(float f1, float c1, float f2, float c2) {
+		float f = or(f1, f2);
+		float c = and(c1, c2);
+		return pack(f, c);
+	}
+
+	static long intersection(float f1, float c1, float f2, float c2) {
+		float f = and(f1, f2);
+		float c = and(c1, c2);
+		return pack(f, c);
+	}
+
+	static long reduceConjunction(float f1, float c1, float f2, float c2) {
+		long v0 = intersection(1 - f1, c1, f2, c2);
+		long v1 = deduction(frequency(v0), confidence(v0), 1f);
+		return negation(frequency(v1), confidence(v1));
 	}
 
 	/**
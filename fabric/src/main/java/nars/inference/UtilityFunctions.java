@@ -24,6 +24,10 @@ import nars.storage.Parameters;
 
 /**
  * Common functions on real numbers, mostly in [0,1].
+ * <p>
+ * The functions are also given for the few arities the rules use, so that
+ * the compiler picks them over the varargs versions and no array is made
+ * per call.
  */
 public class UtilityFunctions {
 
@@ -40,6 +44,27 @@ public class UtilityFunctions {
         return product;
     }
 
+    /**
+     * {@link #and(float...)} of two inputs, without an array
+     */
+    public static float and(float a, float b) {
+        return a * b;
+    }
+
+    /**
+     * {@link #and(float...)} of three inputs, without an array
+     */
+    public static float and(float a, float b, float c) {
+        return a * b * c;
+    }
+
+    /**
+     * {@link #and(float...)} of four inputs, without an array
+     */
+    public static float and(float a, float b, float c, float d) {
+        return a * b * c * d;
+    }
+
     /**
      * A function where the output is disjunctively determined by the inputs
      * @param arr The inputs, each in [0, 1]
@@ -53,6 +78,20 @@ public class UtilityFunctions {
         return 1 - product;
     }
 
+    /**
+     * {@link #or(float...)} of two inputs, without an array
+     */
+    public static float or(float a, float b) {
+        return 1 - (1 - a) * (1 - b);
+    }
+
+    /**
+     * {@link #or(float...)} of three inputs, without an array
+     */
+    public static float or(float a, float b, float c) {
+        return 1 - (1 - a) * (1 - b) * (1 - c);
+    }
+
     /**
      * A function where the output is the geometric average the inputs
      * @param arr The inputs, each in [0, 1]
@@ -66,6 +105,13 @@ public class UtilityFunctions {
         return (float) Math.pow(product, 1.00 / arr.length);
     }
 
+    /**
+     * {@link #aveGeo(float...)} of three inputs, without an array
+     */
+    public static float aveGeo(float a, float b, float c) {
+        return (float) Math.pow(a * b * c, 1.00 / 3);
+    }
+
     /**
      * A function to convert weight to confidence
      * @param w Weight of evidence, a non-negative real number
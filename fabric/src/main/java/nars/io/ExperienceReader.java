@@ -22,7 +22,11 @@ package nars.io;
 
 import java.awt.FileDialog;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import nars.storage.Parameters;
 import nars.storage.ReasonerBatch;
 
 /**
@@ -38,6 +42,11 @@ public class ExperienceReader implements InputChannel {
 	/** Remaining working cycles before reading the next line */
 	private int timer;
 
+	/** Lines read ahead and parsed in parallel, in input order */
+	private List<InputLine> batch = Collections.emptyList();
+	/** Index in the batch of the next line to be taken in */
+	private int next;
+
 	/**
 	 * Default constructor
 	 * 
@@ -95,6 +104,10 @@ public class ExperienceReader implements InputChannel {
 	/**
 	 * Process the next chunk of input data TODO duplicated code with
 	 * {@link InputWindow#nextInput()}
+	 * <p>
+	 * Lines are parsed INPUT_BATCH_SIZE at a time on the fork-join pool, then
+	 * taken in one by one in their order, a number still walking the reasoner
+	 * before the next line.
 	 * 
 	 * @return Whether the input channel should be checked again
 	 */
@@ -103,32 +116,54 @@ public class ExperienceReader implements InputChannel {
 			timer--;
 			return true;
 		}
+		while (timer == 0) {
+			if (next == batch.size() && !readBatch()) {
+				return false;
+			}
+			InputLine line = batch.get(next++);
+			if (line.steps >= 0) {
+				timer = line.steps;
+				ReasonerBatch.walk(reasoner, timer);
+			} else if (line.task != null) {
+				ReasonerBatch.inputTask(reasoner, line.task);
+			} else if (line.error != null) {
+				System.out.println(line.error);
+			} else if (line.control != null) {
+				ReasonerBatch.textInputLine(reasoner, line.control);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Read and parse the next block of lines
+	 * 
+	 * @return Whether there is any line left
+	 */
+	private boolean readBatch() {
 		if (inExp == null) {
 			return false;
 		}
-		String line = null;
-		while (timer == 0) {
-			try {
+		List<String> lines = new ArrayList<String>();
+		try {
+			String line;
+			while (lines.size() < Parameters.INPUT_BATCH_SIZE) {
 				line = inExp.readLine();
 				if (line == null) {
 					inExp.close();
 					inExp = null;
-					return false;
+					break;
 				}
-			} catch (IOException ex) {
-				System.out.println("i/o error: " + ex.getMessage());
-			}
-			line = line.trim();
-			// read NARS language or an integer
-			if (line.length() > 0) {
-				try {
-					timer = Integer.parseInt(line);
-					ReasonerBatch.walk(reasoner, timer);
-				} catch (NumberFormatException e) {
-					ReasonerBatch.textInputLine(reasoner, line);
+				line = line.trim();
+				if (line.length() > 0) {
+					lines.add(line);
 				}
 			}
+		} catch (IOException ex) {
+			System.out.println("i/o error: " + ex.getMessage());
 		}
-		return true;
+		batch = InputLine.parse(lines, reasoner.getMemory());
+		next = 0;
+		return !batch.isEmpty();
 	}
 }
@@ -0,0 +1,65 @@
+package nars.io;
+
+import nars.entity.Task;
+import nars.storage.Memory;
+import nars.storage.ReasonerBatch;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A line of experience parsed ahead of time.
+ * <p>
+ * A block of lines is parsed on the common fork-join pool, and the results
+ * come back in input order; the reasoner takes them in one by one as if it
+ * had read the lines itself. Nothing is printed or stamped by the workers:
+ * error messages and Stamps are produced when the line is taken in, so the
+ * output and the stamp serials are the same as for sequential input.
+ */
+final class InputLine {
+
+    /** Working cycles to walk, or -1 when the line is not a number */
+    final int steps;
+    /** The Task, not yet stamped, or null */
+    final Task task;
+    /** Why the line could not be parsed, or null */
+    final String error;
+    /** A reset or comment line, to be handled by ReasonerBatch.textInputLine */
+    final String control;
+
+    private InputLine(int steps, Task task, String error, String control) {
+        this.steps = steps;
+        this.task = task;
+        this.error = error;
+        this.control = control;
+    }
+
+    /**
+     * Parse a block of trimmed, non-empty lines in parallel
+     * @param lines The input lines
+     * @param memory Reference to the memory, only read by the workers
+     * @return The parsed lines in input order
+     */
+    static List<InputLine> parse(List<String> lines, Memory memory) {
+        return lines.parallelStream().map(line -> parse(line, memory)).collect(Collectors.toList());
+    }
+
+    private static InputLine parse(String text, Memory memory) {
+        try {
+            return new InputLine(Integer.parseInt(text), null, null, null);
+        } catch (NumberFormatException e) {
+            char c = text.charAt(0);
+            if (Symbols.RESET_MARK == c || Symbols.COMMENT_MARK == c) {
+                return new InputLine(-1, null, null, text);
+            }
+            StringBuffer buffer = new StringBuffer(text);
+            if (!ReasonerBatch.experienceLine(buffer)) {
+                return new InputLine(-1, null, null, null);
+            }
+            NarseseParser parser = new NarseseParser(buffer, memory);
+            Task task = parser.task();
+            String error = null == task ? " !!! INVALID INPUT: parseTask: " + buffer + " --- " + parser.message() : null;
+            return new InputLine(-1, task, error, null);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package nars.io;
+
+import nars.entity.*;
+import nars.inference.BudgetFunctions;
+import nars.language.*;
+import nars.storage.Memory;
+import nars.storage.Parameters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass recursive-descent parser of Narsese.
+ * <p>
+ * The input is read once, left to right, through a cursor over a
+ * CharSequence; compounds are built bottom-up from their components as soon
+ * as their closer is reached, so no level of nesting is re-scanned or sliced
+ * into substrings. Only the names of atomic terms and the numbers of truth
+ * and budget values are copied out of the input.
+ * <p>
+ * Invalid input is reported through an error code and the position where it
+ * was found, not through exceptions.
+ */
+public class NarseseParser {
+
+    /* ---------- error codes ---------- */
+    public static final int OK = 0;
+    public static final int MISSING_TERM = 1;
+    public static final int MISSING_CLOSER = 2;
+    public static final int UNKNOWN_OPERATOR = 3;
+    public static final int UNKNOWN_RELATION = 4;
+    public static final int INVALID_COMPOUND = 5;
+    public static final int INVALID_STATEMENT = 6;
+    public static final int UNKNOWN_PUNCTUATION = 7;
+    public static final int INVALID_VALUE = 8;
+    public static final int TRAILING_INPUT = 9;
+
+    private static final String[] MESSAGES = {
+            "ok",
+            "missing term",
+            "missing closer",
+            "unknown operator",
+            "unknown relation",
+            "invalid compound term",
+            "invalid statement",
+            "unknown punctuation",
+            "invalid truth or budget value",
+            "unexpected input after term"
+    };
+
+    private final CharSequence s;
+    private final Memory memory;
+    private int pos;
+    private int end;
+    private int error = OK;
+    private int errorAt = -1;
+
+    /**
+     * Constructor
+     * @param s The text to be parsed
+     * @param memory Reference to the memory
+     */
+    public NarseseParser(CharSequence s, Memory memory) {
+        this.s = s;
+        this.memory = memory;
+        this.end = s.length();
+    }
+
+    /**
+     * Enter a new Task in String into the memory; an invalid line is reported
+     * and ignored
+     * @param s the single-line input
+     * @param memory Reference to the memory
+     * @param time The current time
+     * @return An experienced task, or null
+     */
+    public static Task parseTask(CharSequence s, Memory memory, long time) {
+        NarseseParser parser = new NarseseParser(s, memory);
+        Task task = parser.task(time);
+        if (null == task) {
+            System.out.println(" !!! INVALID INPUT: parseTask: " + s + " --- " + parser.message());
+        }
+        return task;
+    }
+
+    /**
+     * Parse a Term
+     * @param s the text of the term
+     * @param memory Reference to the memory
+     * @return the Term, or null
+     */
+    public static Term parseTerm(CharSequence s, Memory memory) {
+        NarseseParser parser = new NarseseParser(s, memory);
+        Term t = parser.term();
+        if (null == t) {
+            System.out.println(" !!! INVALID INPUT: parseTerm: " + s + " --- " + parser.message());
+        }
+        return t;
+    }
+
+    /**
+     * The result of the last parse
+     * @return OK, or one of the error codes
+     */
+    public int error() {
+        return error;
+    }
+
+    /**
+     * Where the last error was detected
+     * @return index into the input, or -1
+     */
+    public int errorAt() {
+        return errorAt;
+    }
+
+    /**
+     * The last error in words
+     * @return a message for the error code
+     */
+    public String message() {
+        return OK == error ? MESSAGES[OK] : MESSAGES[error] + " at " + errorAt;
+    }
+
+    /* ---------- sentence level ---------- */
+
+    /**
+     * Parse the whole input as a Task: [$budget$] term punctuation [%truth%]
+     * @param time The current time
+     * @return the Task, or null with the error code set
+     */
+    public Task task(long time) {
+        Task task = task();
+        if (null != task) {
+            task.getSentence().setStamp(Stamp.createStamp(memory, time));
+        }
+        return task;
+    }
+
+    /**
+     * Parse the whole input as a Task that has no Stamp yet, to be stamped
+     * when it is taken into the memory; safe to call off the reasoning thread
+     * @return the Task, or null with the error code set
+     */
+    public Task task() {
+        pos = 0;
+        end = s.length();
+        trim();
+        if (pos >= end) {
+            return fail(MISSING_TERM);
+        }
+        int budgetFrom = -1, budgetTo = -1;
+        if (Symbols.BUDGET_VALUE_MARK == s.charAt(pos)) {
+            budgetFrom = pos + 1;
+            budgetTo = indexOf(Symbols.BUDGET_VALUE_MARK, budgetFrom, end);
+            if (0 > budgetTo) {
+                return fail(MISSING_CLOSER);
+            }
+            pos = budgetTo + 1;
+        }
+        int truthFrom = -1, truthTo = -1;
+        if (Symbols.TRUTH_VALUE_MARK == s.charAt(end - 1)) {
+            truthTo = end - 1;
+            truthFrom = indexOf(Symbols.TRUTH_VALUE_MARK, pos, truthTo);
+            if (0 > truthFrom) {
+                return fail(MISSING_CLOSER);
+            }
+            truthFrom++;
+            end = truthFrom - 1;
+        }
+        trim();
+        if (pos >= end) {
+            return fail(MISSING_TERM);
+        }
+        char punc = s.charAt(--end);
+        float priority, durability;
+        switch (punc) {
+            case Symbols.JUDGMENT_MARK:
+                priority = Parameters.DEFAULT_JUDGMENT_PRIORITY;
+                durability = Parameters.DEFAULT_JUDGMENT_DURABILITY;
+                break;
+            case Symbols.QUESTION_MARK:
+                priority = Parameters.DEFAULT_QUESTION_PRIORITY;
+                durability = Parameters.DEFAULT_QUESTION_DURABILITY;
+                break;
+            default:
+                errorAt = end;
+                error = UNKNOWN_PUNCTUATION;
+                return null;
+        }
+        Term content = term();
+        if (null == content) {
+            return null;
+        }
+        TruthValue truth = null;
+        if (Symbols.QUESTION_MARK != punc) {
+            float frequency = 1.0f;
+            float confidence = Parameters.DEFAULT_JUDGMENT_CONFIDENCE;
+            if (0 <= truthFrom) {
+                float[] values = values(truthFrom, truthTo, confidence);
+                if (null == values) {
+                    return null;
+                }
+                frequency = values[0];
+                confidence = values[1];
+            }
+            truth = new TruthValue(frequency, confidence);
+        }
+        if (0 <= budgetFrom) {
+            float[] values = values(budgetFrom, budgetTo, durability);
+            if (null == values) {
+                return null;
+            }
+            priority = values[0];
+            durability = values[1];
+        }
+        Sentence sentence = new Sentence(content, punc, truth, null);
+        if (content instanceof Conjunction && Variable.containVarDep(content.getName())) {
+            sentence.setRevisible(false);
+        }
+        float quality = null == truth ? 1 : BudgetFunctions.truthToQuality(truth);
+        return new Task(sentence, new BudgetValue(priority, durability, quality));
+    }
+
+    /**
+     * Parse "x" or "x;y" between from and to, keeping the default of a missing y
+     * @return the two values, or null with the error code set
+     */
+    private float[] values(int from, int to, float second) {
+        int i = indexOf(Symbols.VALUE_SEPARATOR, from, to);
+        try {
+            if (0 > i) {
+                return new float[]{Float.parseFloat(s.subSequence(from, to).toString().trim()), second};
+            }
+            return new float[]{Float.parseFloat(s.subSequence(from, i).toString().trim()),
+                    Float.parseFloat(s.subSequence(i + 1, to).toString().trim())};
+        } catch (NumberFormatException e) {
+            errorAt = from;
+            error = INVALID_VALUE;
+            return null;
+        }
+    }
+
+    /* ---------- term level ---------- */
+
+    /**
+     * Parse all the remaining input as a single Term
+     * @return the Term, or null with the error code set
+     */
+    public Term term() {
+        trim();
+        Term t = nextTerm();
+        if (null != t) {
+            skipSpace();
+            if (pos < end) {
+                return fail(TRAILING_INPUT);
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Parse the Term starting at the cursor, leaving the cursor after it
+     * <p>
+     * There are 5 valid cases:
+     * 1. (Op, A1, ..., An) is a CompoundTerm if Op is a built-in operator
+     * 2. {A1, ..., An} is an SetExt;
+     * 3. [A1, ..., An] is an SetInt;
+     * 4. <T1 Re T2> is a Statement (including higher-order Statement);
+     * 5. otherwise it is a simple term.
+     */
+    private Term nextTerm() {
+        skipSpace();
+        if (pos >= end) {
+            return fail(MISSING_TERM);
+        }
+        switch (s.charAt(pos)) {
+            case Symbols.COMPOUND_TERM_OPENER:
+                pos++;
+                return compound();
+            case Symbols.SET_EXT_OPENER:
+                if (atRelation()) {
+                    return fail(MISSING_TERM);
+                }
+                pos++;
+                List<Term> ext = arguments(Symbols.SET_EXT_CLOSER);
+                return null == ext ? null : made(SetExt.make(ext, memory), INVALID_COMPOUND);
+            case Symbols.SET_INT_OPENER:
+                pos++;
+                List<Term> in = arguments(Symbols.SET_INT_CLOSER);
+                return null == in ? null : made(SetInt.make(in, memory), INVALID_COMPOUND);
+            case Symbols.STATEMENT_OPENER:
+                if (atRelation()) {
+                    return fail(MISSING_TERM);
+                }
+                pos++;
+                return statement();
+            default:
+                return atom();
+        }
+    }
+
+    /**
+     * (Op, A1, ..., An), the cursor just after the opener
+     */
+    private Term compound() {
+        skipSpace();
+        int from = pos;
+        while (pos < end && Symbols.ARGUMENT_SEPARATOR != s.charAt(pos)) {
+            pos++;
+        }
+        int to = pos;
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) {
+            to--;
+        }
+        Operator op = Operator.lookup(s, from, to);
+        if (null == op || !op.isOperator()) {
+            errorAt = from;
+            error = UNKNOWN_OPERATOR;
+            return null;
+        }
+        pos++;
+        List<Term> arg = arguments(Symbols.COMPOUND_TERM_CLOSER);
+        return null == arg ? null : made(CompoundTerm.make(op, arg, memory), INVALID_COMPOUND);
+    }
+
+    /**
+     * A1, ..., An followed by the closer, the cursor after the closer
+     */
+    private List<Term> arguments(char closer) {
+        List<Term> list = new ArrayList<Term>();
+        while (true) {
+            Term t = nextTerm();
+            if (null == t) {
+                return null;
+            }
+            list.add(t);
+            skipSpace();
+            if (pos >= end) {
+                fail(MISSING_CLOSER);
+                return null;
+            }
+            char c = s.charAt(pos++);
+            if (closer == c) {
+                return list;
+            }
+            if (Symbols.ARGUMENT_SEPARATOR != c) {
+                pos--;
+                fail(MISSING_CLOSER);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * T1 Re T2 followed by the closer, the cursor just after the opener
+     */
+    private Term statement() {
+        Term subject = nextTerm();
+        if (null == subject) {
+            return null;
+        }
+        skipSpace();
+        Operator relation = pos + 3 <= end ? Operator.lookup(s, pos, pos + 3) : null;
+        if (null == relation || !relation.isRelation()) {
+            return fail(UNKNOWN_RELATION);
+        }
+        pos += 3;
+        Term predicate = nextTerm();
+        if (null == predicate) {
+            return null;
+        }
+        skipSpace();
+        if (pos >= end || Symbols.STATEMENT_CLOSER != s.charAt(pos)) {
+            return fail(MISSING_CLOSER);
+        }
+        pos++;
+        return made(Statement.make(relation, subject, predicate, memory), INVALID_STATEMENT);
+    }
+
+    /**
+     * A Term that has no internal structure, a constant or a variable; it
+     * ends at a space, a separator, a closer, or a relation
+     */
+    private Term atom() {
+        int from = pos;
+        while (pos < end) {
+            char c = s.charAt(pos);
+            if (Character.isWhitespace(c) || Symbols.ARGUMENT_SEPARATOR == c
+                    || Symbols.COMPOUND_TERM_CLOSER == c || Symbols.STATEMENT_CLOSER == c
+                    || Symbols.SET_EXT_CLOSER == c || Symbols.SET_INT_CLOSER == c || atRelation()) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == from) {
+            return fail(MISSING_TERM);
+        }
+        String name = s.subSequence(from, pos).toString();
+        Term t = Memory.nameToListedTerm(memory, name);    // existing constant or operator
+        if (null != t) {
+            return t;
+        }
+        return Variable.containVar(name) ? new Variable(name) : new Term(name);
+    }
+
+    /* ---------- cursor utilities ---------- */
+
+    private Term made(Term t, int code) {
+        return null != t ? t : fail(code);
+    }
+
+    private <T> T fail(int code) {
+        if (OK == error) {
+            error = code;
+            errorAt = pos;
+        }
+        return null;
+    }
+
+    private boolean atRelation() {
+        if (pos + 3 > end) {
+            return false;
+        }
+        Operator op = Operator.lookup(s, pos, pos + 3);
+        return null != op && op.isRelation();
+    }
+
+    private void skipSpace() {
+        while (pos < end && Character.isWhitespace(s.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private void trim() {
+        skipSpace();
+        while (end > pos && Character.isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (c == s.charAt(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -23,6 +23,7 @@ package nars.language;
 import nars.entity.TermLink;
 import nars.io.Symbols;
 import nars.storage.Memory;
+import nars.storage.TermCache;
 
 import java.util.*;
 import java.util.concurrent.*;
@@ -119,6 +120,34 @@ public abstract class CompoundTerm extends Term {
     }
 
     /* static methods making new compounds, which may return null */
+
+    /**
+     * Factory of a compound from its component list
+     */
+    interface Factory {
+        Term make(List<Term> components, Memory memory);
+    }
+
+    /**
+     * The factories, indexed by opcode; null for relations and atoms
+     */
+    private static final Factory[] FACTORIES = new Factory[Operator.COUNT];
+
+    static {
+        FACTORIES[Operator.SET_EXT.code] = SetExt::make;
+        FACTORIES[Operator.SET_INT.code] = SetInt::make;
+        FACTORIES[Operator.INTERSECTION_EXT.code] = IntersectionExt::make;
+        FACTORIES[Operator.INTERSECTION_INT.code] = IntersectionInt::make;
+        FACTORIES[Operator.DIFFERENCE_EXT.code] = (arg, memory) -> DifferenceExt.Companion.make(arg, memory);
+        FACTORIES[Operator.DIFFERENCE_INT.code] = (arg, memory) -> DifferenceInt.Companion.make(arg, memory);
+        FACTORIES[Operator.PRODUCT.code] = Product::make;
+        FACTORIES[Operator.IMAGE_EXT.code] = ImageExt::make;
+        FACTORIES[Operator.IMAGE_INT.code] = ImageInt::make;
+        FACTORIES[Operator.NEGATION.code] = Negation::make;
+        FACTORIES[Operator.DISJUNCTION.code] = (arg, memory) -> Disjunction.Companion.make(arg, memory);
+        FACTORIES[Operator.CONJUNCTION.code] = (arg, memory) -> Conjunction.Companion.make(arg, memory);
+    }
+
     /**
      * Try to make a compound term from a template and a list of components
      * @param compound The template
@@ -127,66 +156,45 @@ public abstract class CompoundTerm extends Term {
      * @return A compound term or null
      */
     public static Term make(CompoundTerm compound, List<Term> components, Memory memory) {
-        if (compound instanceof ImageExt) {
-            return ImageExt.make(components, ((ImageExt) compound).getRelationIndex(), memory);
-        } else if (compound instanceof ImageInt) {
-            return ImageInt.make(components, ((ImageInt) compound).getRelationIndex(), memory);
-        } else {
-            return make(compound.operator(), components, memory);
+        switch (compound.opcode()) {
+            case IMAGE_EXT:
+                return ImageExt.make(components, ((ImageExt) compound).getRelationIndex(), memory);
+            case IMAGE_INT:
+                return ImageInt.make(components, ((ImageInt) compound).getRelationIndex(), memory);
+            default:
+                return make(compound.opcode(), components, memory);
         }
     }
 
     /**
      * Try to make a compound term from an operator and a list of components
      * <p>
-     * Called from StringParser
+     * Called from NarseseParser
      * @param op Term operator
      * @param arg Component list
      * @param memory Reference to the memory
      * @return A compound term or null
      */
     public static Term make(String op, List<Term> arg, Memory memory) {
-        if (1 == op.length()) {
-            if (Symbols.SET_EXT_OPENER == op.charAt(0)) {
-                return SetExt.make(arg, memory);
-            }
-            if (Symbols.SET_INT_OPENER == op.charAt(0)) {
-                return SetInt.make(arg, memory);
-            }
-            if (op.equals(Symbols.INTERSECTION_EXT_OPERATOR)) {
-                return IntersectionExt.make(arg, memory);
-            }
-            if (op.equals(Symbols.INTERSECTION_INT_OPERATOR)) {
-                return IntersectionInt.make(arg, memory);
-            }
-            if (op.equals(Symbols.DIFFERENCE_EXT_OPERATOR)) {
-                return DifferenceExt.Companion.make(arg, memory);
-            }
-            if (op.equals(Symbols.DIFFERENCE_INT_OPERATOR)) {
-                return DifferenceInt.Companion.make(arg, memory);
-            }
-            if (op.equals(Symbols.PRODUCT_OPERATOR)) {
-                return Product.make(arg, memory);
-            }
-            if (op.equals(Symbols.IMAGE_EXT_OPERATOR)) {
-                return ImageExt.make(arg, memory);
-            }
-            if (op.equals(Symbols.IMAGE_INT_OPERATOR)) {
-                return ImageInt.make(arg, memory);
-            }
-        }
-        if (2 == op.length()) {
-            if (op.equals(Symbols.NEGATION_OPERATOR)) {
-                return Negation.make(arg, memory);
-            }
-            if (op.equals(Symbols.DISJUNCTION_OPERATOR)) {
-                return Disjunction.Companion.make(arg, memory);
-            }
-            if (op.equals(Symbols.CONJUNCTION_OPERATOR)) {
-                return Conjunction.Companion.make(arg, memory);
-            }
+        Operator opcode = Operator.lookup(op);
+        return null == opcode ? null : make(opcode, arg, memory);
+    }
+
+    /**
+     * Try to make a compound term from an opcode and a list of components
+     * @param op Term opcode
+     * @param arg Component list
+     * @param memory Reference to the memory
+     * @return A compound term or null
+     */
+    public static Term make(Operator op, List<Term> arg, Memory memory) {
+        Factory factory = FACTORIES[op.code];
+        if (null == factory) {
+            return null;
         }
-        return null;
+        TermCache cache = memory.getTermCache();
+        Term t = cache.get(op, arg);
+        return null != t ? t : cache.put(op, arg, factory.make(arg, memory));
     }
 
     /**
@@ -540,13 +548,16 @@ public abstract class CompoundTerm extends Term {
     /**
      * Collect TermLink templates into a list, go down one level except in special cases
      * <p>
+     * Components after TermLink.MAX_INDEX get no template, as their index
+     * cannot be packed in a link
+     * <p>
      * @param componentLinks The list of TermLink templates built so far
      * @param type The type of TermLink to be built
      * @param term The CompoundTerm for which the links are built
      */
     private void prepareComponentLinks(ArrayList<TermLink> componentLinks, short type, CompoundTerm term) {
         Term t1, t2, t3;                    // components at different levels
-        for (int i = 0; i < term.size(); i++) {     // first level components
+        for (int i = 0; i < term.size() && i <= TermLink.MAX_INDEX; i++) {     // first level components
             t1 = term.componentAt(i);
             if (t1.isConstant()) {
                 componentLinks.add(new TermLink(t1, type, i));
@@ -554,7 +565,7 @@ public abstract class CompoundTerm extends Term {
             if ((t1 instanceof Conjunction) && ((this instanceof Equivalence) || ((this instanceof Implication) && (0 == i)))) {
                 ((CompoundTerm) t1).prepareComponentLinks(componentLinks, TermLink.COMPOUND_CONDITION, (CompoundTerm) t1);
             } else if (t1 instanceof CompoundTerm) {
-                for (int j = 0; j < ((CompoundTerm) t1).size(); j++) {  // second level components
+                for (int j = 0; j < ((CompoundTerm) t1).size() && j <= TermLink.MAX_INDEX; j++) {  // second level components
                     t2 = ((CompoundTerm) t1).componentAt(j);
                     if (t2.isConstant()) {
                         if ((t1 instanceof Product) || (t1 instanceof ImageExt) || (t1 instanceof ImageInt)) {
@@ -568,7 +579,7 @@ public abstract class CompoundTerm extends Term {
                         }
                     }
                     if ((t2 instanceof Product) || (t2 instanceof ImageExt) || (t2 instanceof ImageInt)) {
-                        for (int k = 0; k < ((CompoundTerm) t2).size(); k++) {
+                        for (int k = 0; k < ((CompoundTerm) t2).size() && k <= TermLink.MAX_INDEX; k++) {
                             t3 = ((CompoundTerm) t2).componentAt(k);
                             if (t3.isConstant()) {                           // third level
                                 if (TermLink.COMPOUND_CONDITION == type) {
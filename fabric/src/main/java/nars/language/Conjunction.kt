@@ -65,6 +65,14 @@ class Conjunction : CompoundTerm {
         return Symbols.CONJUNCTION_OPERATOR
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    override fun opcode(): Operator {
+        return Operator.CONJUNCTION
+    }
+
     /**
      * Check if the compound is communitative.
      * @return true for communitative
@@ -76,7 +84,7 @@ class Conjunction : CompoundTerm {
     companion object {
 
         /**
-         * Try to make a new compound from a list of components. Called by StringParser.
+         * Try to make a new compound from a list of components. Called by NarseseParser.
          * @return the Term generated from the arguments
          * *
          * @param argList the list of arguments
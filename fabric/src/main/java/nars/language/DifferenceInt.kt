@@ -63,10 +63,18 @@ class DifferenceInt : CompoundTerm {
         return Symbols.DIFFERENCE_INT_OPERATOR
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    override fun opcode(): Operator {
+        return Operator.DIFFERENCE_INT
+    }
+
     companion object {
 
         /**
-         * Try to make a new DifferenceExt. Called by StringParser.
+         * Try to make a new DifferenceExt. Called by NarseseParser.
          * @return the Term generated from the arguments
          * *
          * @param argList The list of components
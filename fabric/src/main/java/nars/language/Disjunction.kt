@@ -63,6 +63,14 @@ class Disjunction : CompoundTerm {
         return Symbols.DISJUNCTION_OPERATOR
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    override fun opcode(): Operator {
+        return Operator.DISJUNCTION
+    }
+
     /**
      * Disjunction is communitative.
      * @return true for communitative
@@ -105,7 +113,7 @@ class Disjunction : CompoundTerm {
         }
 
         /**
-         * Try to make a new IntersectionExt. Called by StringParser.
+         * Try to make a new IntersectionExt. Called by NarseseParser.
          * @param argList a list of Term as compoments
          * *
          * @param memory Reference to the memory
@@ -69,6 +69,14 @@ class Equivalence : Statement {
         return Symbols.EQUIVALENCE_RELATION
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    override fun opcode(): Operator {
+        return Operator.EQUIVALENCE
+    }
+
     /**
      * Check if the compound is commutative.
 
@@ -66,7 +66,7 @@ public class ImageExt extends CompoundTerm {
     }
 
     /**
-     * Try to make a new ImageExt. Called by StringParser.
+     * Try to make a new ImageExt. Called by NarseseParser.
      *
      * @param argList The list of components
      * @param memory  Reference to the memory
@@ -209,4 +209,13 @@ public class ImageExt extends CompoundTerm {
     public String operator() {
         return Symbols.IMAGE_EXT_OPERATOR;
     }
+
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.IMAGE_EXT;
+    }
 }
@@ -71,7 +71,7 @@ public class ImageInt extends CompoundTerm {
     }
 
     /**
-     * Try to make a new ImageExt. Called by StringParser.
+     * Try to make a new ImageExt. Called by NarseseParser.
      * @return the Term generated from the arguments
      * @param argList The list of components
      * @param memory Reference to the memory
@@ -192,4 +192,13 @@ public class ImageInt extends CompoundTerm {
     public String operator() {
         return Symbols.IMAGE_INT_OPERATOR;
     }
+
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.IMAGE_INT;
+    }
 }
@@ -64,6 +64,14 @@ class Implication : Statement {
         return Symbols.IMPLICATION_RELATION
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    override fun opcode(): Operator {
+        return Operator.IMPLICATION
+    }
+
     companion object {
 
         /**
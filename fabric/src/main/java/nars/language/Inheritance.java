@@ -86,5 +86,14 @@ public class Inheritance extends Statement {
         return Symbols.INHERITANCE_RELATION;
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.INHERITANCE;
+    }
+
 }
 
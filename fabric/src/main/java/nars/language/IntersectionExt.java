@@ -102,7 +102,7 @@ public class IntersectionExt extends CompoundTerm {
     }
 
     /**
-     * Try to make a new IntersectionExt. Called by StringParser.
+     * Try to make a new IntersectionExt. Called by NarseseParser.
      * @return the Term generated from the arguments
      * @param argList The list of components
      * @param memory Reference to the memory
@@ -136,6 +136,15 @@ public class IntersectionExt extends CompoundTerm {
         return Symbols.INTERSECTION_EXT_OPERATOR;
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.INTERSECTION_EXT;
+    }
+
     /**
      * Check if the compound is communitative.
      * @return true for communitative
@@ -74,7 +74,7 @@ public class Negation extends CompoundTerm {
     }
 
     /**
-     * Try to make a new SetExt. Called by StringParser.
+     * Try to make a new SetExt. Called by NarseseParser.
      * @return the Term generated from the arguments
      * @param argument The list of components
      * @param memory Reference to the memory
@@ -95,4 +95,13 @@ public class Negation extends CompoundTerm {
     public String operator() {
         return Symbols.NEGATION_OPERATOR;
     }
+
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.NEGATION;
+    }
 }
@@ -0,0 +1,169 @@
+package nars.language;
+
+import nars.io.Symbols;
+
+/**
+ * Compact opcode of a term operator or statement relation.
+ * <p>
+ * Every CompoundTerm reports one of these through {@link Term#opcode()}, so
+ * that construction, parsing and rule selection can switch on a small integer
+ * instead of comparing operator Strings or walking instanceof chains.
+ */
+public enum Operator {
+
+    /* not a compound: atomic terms and variables */
+    ATOM(""),
+
+    /* set openers, standing for the operator of SetExt and SetInt */
+    SET_EXT("" + Symbols.SET_EXT_OPENER),
+    SET_INT("" + Symbols.SET_INT_OPENER),
+
+    /* CompoundTerm operators, length = 1 */
+    INTERSECTION_EXT(Symbols.INTERSECTION_EXT_OPERATOR),
+    INTERSECTION_INT(Symbols.INTERSECTION_INT_OPERATOR),
+    DIFFERENCE_EXT(Symbols.DIFFERENCE_EXT_OPERATOR),
+    DIFFERENCE_INT(Symbols.DIFFERENCE_INT_OPERATOR),
+    PRODUCT(Symbols.PRODUCT_OPERATOR),
+    IMAGE_EXT(Symbols.IMAGE_EXT_OPERATOR),
+    IMAGE_INT(Symbols.IMAGE_INT_OPERATOR),
+
+    /* CompoundStatement operators, length = 2 */
+    NEGATION(Symbols.NEGATION_OPERATOR),
+    DISJUNCTION(Symbols.DISJUNCTION_OPERATOR),
+    CONJUNCTION(Symbols.CONJUNCTION_OPERATOR),
+
+    /* built-in relations, length = 3 */
+    INHERITANCE(Symbols.INHERITANCE_RELATION),
+    SIMILARITY(Symbols.SIMILARITY_RELATION),
+    INSTANCE(Symbols.INSTANCE_RELATION),
+    PROPERTY(Symbols.PROPERTY_RELATION),
+    INSTANCE_PROPERTY(Symbols.INSTANCE_PROPERTY_RELATION),
+    IMPLICATION(Symbols.IMPLICATION_RELATION),
+    EQUIVALENCE(Symbols.EQUIVALENCE_RELATION);
+
+    /**
+     * Number of opcodes, the length of the tables indexed by {@link #code}
+     */
+    public static final int COUNT = values().length;
+
+    private static final Operator[] CODES = values();
+
+    /**
+     * The opcode, index into the factory tables
+     */
+    public final byte code;
+
+    /**
+     * The operator as it is written in Narsese
+     */
+    public final String symbol;
+
+    Operator(String symbol) {
+        this.code = (byte) ordinal();
+        this.symbol = symbol;
+    }
+
+    /**
+     * Decode an opcode
+     * @param code The opcode
+     * @return The operator with that code
+     */
+    public static Operator of(byte code) {
+        return CODES[code];
+    }
+
+    /**
+     * Check CompoundTerm operator symbol, the set openers excluded
+     * @return Whether this is one of the operators written inside "( )"
+     */
+    public boolean isOperator() {
+        return INTERSECTION_EXT.code <= code && code <= CONJUNCTION.code;
+    }
+
+    /**
+     * Check Statement relation symbol
+     * @return Whether this is one of the built-in relations
+     */
+    public boolean isRelation() {
+        return INHERITANCE.code <= code;
+    }
+
+    /**
+     * Recognize an operator or relation String
+     * @param s The String to be checked
+     * @return The operator, or null for an unknown symbol
+     */
+    public static Operator lookup(CharSequence s) {
+        return lookup(s, 0, s.length());
+    }
+
+    /**
+     * Recognize the operator or relation symbol at s[from, to) without
+     * extracting it; an unrolled char switch, no String is allocated
+     * @param s The text being parsed
+     * @param from The first character of the symbol
+     * @param to One past the last character of the symbol
+     * @return The operator, or null for an unknown symbol
+     */
+    public static Operator lookup(CharSequence s, int from, int to) {
+        switch (to - from) {
+            case 1:
+                switch (s.charAt(from)) {
+                    case '{':
+                        return SET_EXT;
+                    case '[':
+                        return SET_INT;
+                    case '&':
+                        return INTERSECTION_EXT;
+                    case '|':
+                        return INTERSECTION_INT;
+                    case '-':
+                        return DIFFERENCE_EXT;
+                    case '~':
+                        return DIFFERENCE_INT;
+                    case '*':
+                        return PRODUCT;
+                    case '/':
+                        return IMAGE_EXT;
+                    case '\\':
+                        return IMAGE_INT;
+                }
+                return null;
+            case 2:
+                char c = s.charAt(from);
+                if (c != s.charAt(from + 1)) {
+                    return null;
+                }
+                switch (c) {
+                    case '-':
+                        return NEGATION;
+                    case '|':
+                        return DISJUNCTION;
+                    case '&':
+                        return CONJUNCTION;
+                }
+                return null;
+            case 3:
+                Operator r;
+                switch (s.charAt(from)) {
+                    case '-':
+                        r = s.charAt(from + 1) == '-' ? s.charAt(from + 2) == '>' ? INHERITANCE : s.charAt(from + 2) == ']' ? PROPERTY : null : null;
+                        break;
+                    case '<':
+                        r = s.charAt(from + 1) == '-' && s.charAt(from + 2) == '>' ? SIMILARITY
+                                : s.charAt(from + 1) == '=' && s.charAt(from + 2) == '>' ? EQUIVALENCE : null;
+                        break;
+                    case '{':
+                        r = s.charAt(from + 1) == '-' ? s.charAt(from + 2) == '-' ? INSTANCE : s.charAt(from + 2) == ']' ? INSTANCE_PROPERTY : null : null;
+                        break;
+                    case '=':
+                        r = s.charAt(from + 1) == '=' && s.charAt(from + 2) == '>' ? IMPLICATION : null;
+                        break;
+                    default:
+                        r = null;
+                }
+                return r;
+        }
+        return null;
+    }
+}
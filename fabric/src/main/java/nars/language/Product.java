@@ -59,7 +59,7 @@ public class Product extends CompoundTerm {
     }
 
      /**
-     * Try to make a new compound. Called by StringParser.
+     * Try to make a new compound. Called by NarseseParser.
      * @return the Term generated from the arguments
      * @param argument The list of components
      * @param memory Reference to the memeory
@@ -91,4 +91,13 @@ public class Product extends CompoundTerm {
     public String operator() {
         return Symbols.PRODUCT_OPERATOR;
     }
+
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.PRODUCT;
+    }
 }
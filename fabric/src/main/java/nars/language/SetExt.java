@@ -23,6 +23,7 @@ package nars.language;
 import nars.io.Symbols;
 import nars.storage.Memory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -73,7 +74,7 @@ public class SetExt extends CompoundTerm {
     }
 
     /**
-     * Try to make a new SetExt. Called by StringParser.
+     * Try to make a new SetExt. Called by NarseseParser.
      * @return the Term generated from the arguments
      * @param argList The list of components
      * @param memory Reference to the memeory
@@ -90,8 +91,13 @@ public class SetExt extends CompoundTerm {
      * @return the Term generated from the arguments
      */
     public static Term make(Collection<Term> set, Memory memory) {
-        Term t = null;
-        return !set.isEmpty() && null == (t = Memory.nameToListedTerm(memory, makeSetName(Symbols.SET_EXT_OPENER, argumentsToList(set.toArray(set.toArray(new Term[set.size()]))), Symbols.SET_EXT_CLOSER))) ? new SetExt(argumentsToList(set.toArray(set.toArray(new Term[set.size()])))) : t;
+        if (set.isEmpty()) {
+            return null;
+        }
+        ArrayList<Term> argument = new ArrayList<Term>(set);
+        String name = makeSetName(Symbols.SET_EXT_OPENER, argument, Symbols.SET_EXT_CLOSER);
+        Term t = Memory.nameToListedTerm(memory, name);
+        return (t != null) ? t : new SetExt(argument);
     }
 
     /**
@@ -103,6 +109,15 @@ public class SetExt extends CompoundTerm {
         return "" + Symbols.SET_EXT_OPENER;
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.SET_EXT;
+    }
+
     /**
      * Check if the compound is communitative.
      * @return true for communitative
@@ -69,7 +69,7 @@ public class SetInt extends CompoundTerm {
     }
 
     /**
-     * Try to make a new SetExt. Called by StringParser.
+     * Try to make a new SetExt. Called by NarseseParser.
      * @return the Term generated from the arguments
      * @param argList The list of components
      * @param memory Reference to the memeory
@@ -103,6 +103,15 @@ public class SetInt extends CompoundTerm {
         return "" + Symbols.SET_INT_OPENER;
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.SET_INT;
+    }
+
     /**
      * Check if the compound is communitative.
      * @return true for communitative
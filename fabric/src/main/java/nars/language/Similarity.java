@@ -89,6 +89,15 @@ public class Similarity extends Statement {
         return Symbols.SIMILARITY_RELATION;
     }
 
+    /**
+     * Get the opcode of the term.
+     * @return the opcode of the term
+     */
+    @Override
+    public Operator opcode() {
+        return Operator.SIMILARITY;
+    }
+
     /**
      * Check if the compound is communitative.
      * @return true for communitative
@@ -21,11 +21,13 @@
 package nars.language;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import nars.data.TermStruct;
 import nars.io.Symbols;
 import nars.storage.Memory;
+import nars.storage.TermCache;
 
 /**
  * A statement is a compound term, consisting of a subject, a predicate,
@@ -59,7 +61,29 @@ public abstract class Statement extends CompoundTerm {
     }
 
     /**
-     * Make a Statement from String, called by StringParser
+     * Factory of a statement from its subject and predicate
+     */
+    interface Factory {
+        Statement make(Term subject, Term predicate, Memory memory);
+    }
+
+    /**
+     * The factories, indexed by opcode; null for everything but relations
+     */
+    private static final Factory[] FACTORIES = new Factory[Operator.COUNT];
+
+    static {
+        FACTORIES[Operator.INHERITANCE.code] = Inheritance::make;
+        FACTORIES[Operator.SIMILARITY.code] = Similarity::make;
+        FACTORIES[Operator.INSTANCE.code] = Instance::make;
+        FACTORIES[Operator.PROPERTY.code] = Property::make;
+        FACTORIES[Operator.INSTANCE_PROPERTY.code] = InstanceProperty::make;
+        FACTORIES[Operator.IMPLICATION.code] = (subject, predicate, memory) -> Implication.Companion.make(subject, predicate, memory);
+        FACTORIES[Operator.EQUIVALENCE.code] = (subject, predicate, memory) -> Equivalence.Companion.make(subject, predicate, memory);
+    }
+
+    /**
+     * Make a Statement from String, called by NarseseParser
      * @param relation The relation String
      * @param subject The first component
      * @param predicate The second component
@@ -67,31 +91,24 @@ public abstract class Statement extends CompoundTerm {
      * @return The Statement built
      */
     public static Statement make(String relation, Term subject, Term predicate, Memory memory) {
-        if (invalidStatement(subject, predicate)) {
+        Operator opcode = Operator.lookup(relation);
+        return null == opcode ? null : make(opcode, subject, predicate, memory);
+    }
+
+    /**
+     * Make a Statement from a relation opcode
+     * @param relation The relation opcode
+     * @param subject The first component
+     * @param predicate The second component
+     * @param memory Reference to the memeory
+     * @return The Statement built
+     */
+    public static Statement make(Operator relation, Term subject, Term predicate, Memory memory) {
+        Factory factory = FACTORIES[relation.code];
+        if (null == factory || invalidStatement(subject, predicate)) {
             return null;
         }
-        if (relation.equals(Symbols.INHERITANCE_RELATION)) {
-            return Inheritance.make(subject, predicate, memory);
-        }
-        if (relation.equals(Symbols.SIMILARITY_RELATION)) {
-            return Similarity.make(subject, predicate, memory);
-        }
-        if (relation.equals(Symbols.INSTANCE_RELATION)) {
-            return Instance.make(subject, predicate, memory);
-        }
-        if (relation.equals(Symbols.PROPERTY_RELATION)) {
-            return Property.make(subject, predicate, memory);
-        }
-        if (relation.equals(Symbols.INSTANCE_PROPERTY_RELATION)) {
-            return InstanceProperty.make(subject, predicate, memory);
-        }
-        if (relation.equals(Symbols.IMPLICATION_RELATION)) {
-            return Implication.Companion.make(subject, predicate, memory);
-        }
-        if (relation.equals(Symbols.EQUIVALENCE_RELATION)) {
-            return Equivalence.Companion.make(subject, predicate, memory);
-        }
-        return null;
+        return make(relation, factory, subject, predicate, memory);
     }
 
     /**
@@ -103,19 +120,25 @@ public abstract class Statement extends CompoundTerm {
      * @param memory Reference to the memeory
      */
     public static Statement make(Statement statement, Term subj, Term pred, Memory memory) {
-        if (statement instanceof Inheritance) {
-            return Inheritance.make(subj, pred, memory);
-        }
-        if (statement instanceof Similarity) {
-            return Similarity.make(subj, pred, memory);
-        }
-        if (statement instanceof Implication) {
-            return Implication.Companion.make(subj, pred, memory);
-        }
-        if (statement instanceof Equivalence) {
-            return Equivalence.Companion.make(subj, pred, memory);
-        }
-        return null;
+        Operator relation = statement.opcode();
+        Factory factory = FACTORIES[relation.code];
+        return null == factory ? null : make(relation, factory, subj, pred, memory);
+    }
+
+    /**
+     * Make a Statement through the TermCache of the memory
+     * @param relation The relation opcode
+     * @param factory The factory of the relation
+     * @param subject The first component
+     * @param predicate The second component
+     * @param memory Reference to the memeory
+     * @return The Statement built
+     */
+    private static Statement make(Operator relation, Factory factory, Term subject, Term predicate, Memory memory) {
+        List<Term> key = Arrays.asList(subject, predicate);
+        TermCache cache = memory.getTermCache();
+        Term t = cache.get(relation, key);
+        return (Statement) (null != t ? t : cache.put(relation, key, factory.make(subject, predicate, memory)));
     }
 
     /**
@@ -113,6 +113,15 @@ public class Term implements Cloneable, Comparable<Term>, TermStruct {
         return true;
     }
 
+    /**
+     * The opcode of the term operator, overridden in each CompoundTerm class
+     *
+     * @return ATOM for a Term without internal structure
+     */
+    public Operator opcode() {
+        return Operator.ATOM;
+    }
+
     /**
      * Blank method to be override in CompoundTerm
      */
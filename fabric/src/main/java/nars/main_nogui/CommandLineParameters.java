@@ -1,21 +1,75 @@
 package nars.main_nogui;
 
+import nars.inference.RuleProfiler;
+import nars.storage.Memory;
+import nars.storage.Profile;
 import nars.storage.ReasonerBatch;
 
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
 public class CommandLineParameters {
 
 	public static void decode(String[] args, ReasonerBatch r) {
+		Memory memory = r.getMemory();
+		Profile profile = memory.getProfile();
+		boolean sized = false;
 		for (int i = 0; i < args.length; i++) {
 			String arg = args[i];
 			if ("--silence".equals(arg)) {
 				arg = args[++i];
 				ReasonerBatch.getSilenceValue(r.getSilenceValue()).set(
 						Integer.parseInt(arg));
+			} else if ("--concepts".equals(arg)) {
+				arg = args[++i];
+				try {
+					Profile.set(profile, "CONCEPT_BAG_SIZE", arg);
+				} catch (IllegalArgumentException ex) {
+					System.out.println("bad profile: " + ex.getMessage());
+				}
+				sized = true;
+			} else if ("--rule-stats".equals(arg)) {
+				RuleProfiler.setEnabled(true);
+			} else if ("--profile".equals(arg)) {
+				arg = args[++i];
+				try (Reader in = new FileReader(arg)) {
+					Profile.load(profile, in);
+				} catch (IOException ex) {
+					System.out.println("i/o error: " + ex.getMessage());
+				} catch (IllegalArgumentException ex) {
+					System.out.println("bad profile: " + ex.getMessage());
+				}
+				sized = true;
 			}
 		}
+		if (sized) {
+			Memory.configure(memory, profile);
+		}
 	}
 
 	public static boolean isReallyFile(String param) {
-		return !"--silence".equals(param);
+		return !"--silence".equals(param) && !"--concepts".equals(param)
+				&& !"--profile".equals(param) && !"--rule-stats".equals(param);
+	}
+
+	/**
+	 * The input file among the arguments: the first one that is neither an
+	 * option nor the value of an option
+	 * 
+	 * @param args
+	 *            The command line arguments
+	 * @return The file name, or null when there is none
+	 */
+	public static String inputFile(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			if (isReallyFile(args[i])) {
+				return args[i];
+			}
+			if (!"--rule-stats".equals(args[i])) {
+				i++; // the value of the option
+			}
+		}
+		return null;
 	}
 }
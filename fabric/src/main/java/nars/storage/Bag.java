@@ -23,10 +23,8 @@ package nars.storage;
 import nars.entity.Item;
 import nars.inference.BudgetFunctions;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * A Bag is a storage with a constant capacity and maintains an internal priority
@@ -44,20 +42,15 @@ import java.util.Map;
 public abstract class Bag  <Type extends Item> {
 
     /** priority levels */
-    private static final int TOTAL_LEVEL = Parameters.BAG_LEVEL;
+    private int totalLevel;
     /** firing threshold */
-    private static final int THRESHOLD = Parameters.BAG_THRESHOLD;
+    private int threshold;
     /** relative threshold, only calculate once */
-    private static final float RELATIVE_THRESHOLD = (float) THRESHOLD / (float) TOTAL_LEVEL;
-    /** hashtable load factor */
-    private static final float LOAD_FACTOR = Parameters.LOAD_FACTOR;       //
-    /** shared DISTRIBUTOR that produce the probability distribution */
-    private static final Distributor DISTRIBUTOR = new Distributor(TOTAL_LEVEL); //
-    /** mapping from key to item */
-    
-    private Map<String, Type> nameTable;
-    /** array of lists of items, for items on different level */
-    private List<ArrayList<Type>> itemTable;
+    private float relativeThreshold;
+    /** shared distributor that produce the probability distribution, read-only after construction */
+    private Distributor distributor;
+    /** items by key and by level: flat arrays for a small bag, an off-heap index for a very large one, a hash table and lists otherwise */
+    private BagTable<Type> table;
     /** defined in different bags */
     private int capacity;
     /** current sum of occupied level */
@@ -78,7 +71,7 @@ public abstract class Bag  <Type extends Item> {
     protected WorkSpace memory;
 	private BagObserver bagObserver = new NullBagObserver<Type>();
 	/** The lowest display level */
-	private int showLevel = Parameters.BAG_THRESHOLD;
+	private int showLevel;
 
     /**
      * constructor, called from subclasses
@@ -87,24 +80,35 @@ public abstract class Bag  <Type extends Item> {
     protected Bag(WorkSpace memory) {
         this.memory = memory;
 //        showing = false;
-        capacity = capacity();
         init();
+        showLevel = threshold;
     }
 
+    /**
+     * Empty the bag, sized by the Profile of the memory
+     */
     public void init() {
-        itemTable = new ArrayList<ArrayList<Type>>(TOTAL_LEVEL);
-        for (int i = 0; i < TOTAL_LEVEL; i++) {
-            itemTable.add(new ArrayList<Type>());
+        Profile profile = memory.getProfile();
+        capacity = capacity();
+        totalLevel = profile.getBagLevel();
+        threshold = profile.getBagThreshold();
+        relativeThreshold = (float) threshold / (float) totalLevel;
+        distributor = Distributor.of(totalLevel);
+        if (capacity > profile.getOffHeapBagCapacity()) {
+            table = new OffHeapTable<Type>(capacity, totalLevel);
+        } else if (capacity <= profile.getSmallBagCapacity()) {
+            table = new FlatTable<Type>(capacity, totalLevel);
+        } else {
+            table = new LevelTable<Type>(capacity, totalLevel);
         }
-        nameTable = new HashMap<String, Type>((int) (capacity / LOAD_FACTOR), LOAD_FACTOR);
-        currentLevel = TOTAL_LEVEL - 1;
-        levelIndex = capacity % TOTAL_LEVEL; // so that different bags start at different point
+        currentLevel = totalLevel - 1;
+        levelIndex = capacity % totalLevel; // so that different bags start at different point
         mass = 0;
         currentCounter = 0;
     }
 
     /**
-     * To get the capacity of the concrete subclass
+     * To get the capacity of the concrete subclass, from the Profile of the memory
      * @return Bag capacity, in number of Items allowed
      */
     protected abstract int capacity();
@@ -121,23 +125,58 @@ public abstract class Bag  <Type extends Item> {
      * @return The average priority of Items in the bag
      */
     public float averagePriority() {
-        if (nameTable.size() == 0) {
+        if (table.size() == 0) {
             return 0.01f;
         }
-        float f = (float) mass / (nameTable.size() * TOTAL_LEVEL);
+        float f = (float) mass / (table.size() * totalLevel);
         if (f > 1) {
             return 1.0f;
         }
         return f;
     }
 
+    /**
+     * The number of Items in the bag
+     * @return The size of the bag
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Visit the Items level by level from the lowest, in FIFO order within a
+     * level; putting them into an empty bag in this order rebuilds the levels
+     * @param action The visitor
+     */
+    public void forEach(Consumer<? super Type> action) {
+        for (int i = 0; i < totalLevel; i++) {
+            if (!emptyLevel(i)) {
+                table.levelItems(i).forEach(action);
+            }
+        }
+    }
+
+    /**
+     * The take out position: level index, current level and counter
+     * @return The three numbers
+     */
+    public int[] getCursor() {
+        return new int[]{levelIndex, currentLevel, currentCounter};
+    }
+
+    public void setCursor(int[] cursor) {
+        levelIndex = cursor[0];
+        currentLevel = cursor[1];
+        currentCounter = cursor[2];
+    }
+
     /**
      * Check if an item is in the bag
      * @param it An item
      * @return Whether the Item is in the Bag
      */
     public boolean contains(Type it) {
-        return nameTable.containsValue(it);
+        return table.containsValue(it);
     }
 
     /**
@@ -146,7 +185,7 @@ public abstract class Bag  <Type extends Item> {
      * @return The Item with the given key
      */
     public Type get(String key) {
-        return nameTable.get(key);
+        return table.get(key);
     }
 
     /**
@@ -156,7 +195,7 @@ public abstract class Bag  <Type extends Item> {
      */
     public boolean putIn(Type newItem) {
         String newKey = newItem.getKey();
-        Type oldItem = nameTable.put(newKey, newItem);
+        Type oldItem = table.put(newKey, newItem);
         if (oldItem != null) {                  // merge duplications
             outOfBase(oldItem);
             Item.merge(newItem.getBudget(), oldItem);
@@ -164,13 +203,22 @@ public abstract class Bag  <Type extends Item> {
         Type overflowItem = intoBase(newItem);  // put the (new or merged) item into itemTable
         if (overflowItem != null) {             // remove overflow
             String overflowKey = overflowItem.getKey();
-            nameTable.remove(overflowKey);
+            table.remove(overflowKey);
+            evicted(overflowItem);
             return (overflowItem != newItem);
         } else {
             return true;
         }
     }
 
+    /**
+     * Called when an Item is dropped from a full bag, to be overridden where it
+     * should not just be forgotten
+     * @param item The Item removed, possibly the one being put in
+     */
+    protected void evicted(Type item) {
+    }
+
     /**
      * Put an item back into the itemTable
      * <p>
@@ -179,7 +227,7 @@ public abstract class Bag  <Type extends Item> {
      * @return Whether the new Item is added into the Bag
      */
     public boolean putBack(Type oldItem) {
-        BudgetFunctions.forget(oldItem.getBudget(), forgetRate(), RELATIVE_THRESHOLD);
+        BudgetFunctions.forget(oldItem.getBudget(), forgetRate(), relativeThreshold);
         return putIn(oldItem);
     }
 
@@ -188,25 +236,25 @@ public abstract class Bag  <Type extends Item> {
      * @return The selected Item
      */
     public Type takeOut() {
-        if (nameTable.isEmpty()) { // empty bag
+        if (table.size() == 0) { // empty bag
             return null;
         }
         if (emptyLevel(currentLevel) || (currentCounter == 0)) { // done with the current level
-            currentLevel = DISTRIBUTOR.pick(levelIndex);
-            levelIndex = DISTRIBUTOR.next(levelIndex);
+            currentLevel = distributor.pick(levelIndex);
+            levelIndex = distributor.next(levelIndex);
             while (emptyLevel(currentLevel)) {          // look for a non-empty level
-                currentLevel = DISTRIBUTOR.pick(levelIndex);
-                levelIndex = DISTRIBUTOR.next(levelIndex);
+                currentLevel = distributor.pick(levelIndex);
+                levelIndex = distributor.next(levelIndex);
             }
-            if (currentLevel < THRESHOLD) { // for dormant levels, take one item
+            if (currentLevel < threshold) { // for dormant levels, take one item
                 currentCounter = 1;
             } else {                  // for active levels, take all current items
-                currentCounter = itemTable.get(currentLevel).size();
+                currentCounter = table.levelSize(currentLevel);
             }
         }
         Type selected = takeOutFirst(currentLevel); // take out the first item in the level
         currentCounter--;
-        nameTable.remove(selected.getKey());
+        table.remove(selected.getKey());
         refresh();
         return selected;
     }
@@ -217,10 +265,10 @@ public abstract class Bag  <Type extends Item> {
      * @return The Item with the key
      */
     public Type pickOut(String key) {
-        Type picked = nameTable.get(key);
+        Type picked = table.get(key);
         if (picked != null) {
             outOfBase(picked);
-            nameTable.remove(key);
+            table.remove(key);
         }
         return picked;
     }
@@ -231,7 +279,16 @@ public abstract class Bag  <Type extends Item> {
      * @return Whether that level is empty
      */
     protected boolean emptyLevel(int n) {
-        return ((itemTable.get(n) == null) || itemTable.get(n).isEmpty());
+        return table.emptyLevel(n);
+    }
+
+    /**
+     * The Items of a level, for subclasses walking the bag
+     * @param n The level index
+     * @return The items in FIFO order, or null for a level never used
+     */
+    protected List<Type> levelItems(int n) {
+        return table.levelItems(n);
     }
 
     /**
@@ -240,7 +297,7 @@ public abstract class Bag  <Type extends Item> {
      * @return The put-in level
      */
     private int getLevel(Type item) {
-        float fl = item.getPriority() * TOTAL_LEVEL;
+        float fl = item.getPriority() * totalLevel;
         int level = (int) Math.ceil(fl) - 1;
         return (level < 0) ? 0 : level;     // cannot be -1
     }
@@ -253,7 +310,7 @@ public abstract class Bag  <Type extends Item> {
     private Type intoBase(Type newItem) {
         Type oldItem = null;
         int inLevel = getLevel(newItem);
-        if (nameTable.size() > capacity) {      // the bag is full
+        if (table.size() > capacity) {      // the bag is full
             int outLevel = 0;
             while (emptyLevel(outLevel)) {
                 outLevel++;
@@ -264,7 +321,7 @@ public abstract class Bag  <Type extends Item> {
                 oldItem = takeOutFirst(outLevel);
             }
         }
-        itemTable.get(inLevel).add(newItem);        // FIFO
+        table.add(inLevel, newItem);        // FIFO
         mass += (inLevel + 1);                  // increase total mass
         refresh();                              // refresh the window
         return oldItem;		// TODO return null is a bad smell
@@ -276,8 +333,7 @@ public abstract class Bag  <Type extends Item> {
      * @return The first Item
      */
     private Type takeOutFirst(int level) {
-        Type selected = itemTable.get(level).get(0);
-        itemTable.get(level).remove(0);
+        Type selected = table.removeFirst(level);
         mass -= (level + 1);
         refresh();
         return selected;
@@ -289,7 +345,7 @@ public abstract class Bag  <Type extends Item> {
      */
     protected void outOfBase(Type oldItem) {
         int level = getLevel(oldItem);
-        itemTable.get(level).remove(oldItem);
+        table.remove(level, oldItem);
         mass -= (level + 1);
         refresh();
     }
@@ -346,11 +402,11 @@ public abstract class Bag  <Type extends Item> {
     public String toString() {
         StringBuffer buf = new StringBuffer(" ");
 //        int showLevel = window == null ? 1 : window.showLevel();
-		for (int i = TOTAL_LEVEL; i >= showLevel ; i--) {
+		for (int i = totalLevel; i >= showLevel ; i--) {
             if (!emptyLevel(i - 1)) {
                 buf = buf.append("\n --- Level " + i + ":\n ");
-                for (int j = 0; j < itemTable.get(i - 1).size(); j++) {
-                    buf = buf.append(Item.toStringBrief(itemTable.get(i - 1).get(j).getBudget(), itemTable.get(i - 1).get(j).getKey()) + "\n ");
+                for (Type item : table.levelItems(i - 1)) {
+                    buf = buf.append(Item.toStringBrief(item.getBudget(), item.getKey()) + "\n ");
                 }
             }
         }
@@ -361,11 +417,11 @@ public abstract class Bag  <Type extends Item> {
     public String toStringLong() {
         StringBuffer buf = new StringBuffer(" BAG " + getClass().getSimpleName() );
         buf.append(" ").append( showSizes() );
-		for (int i = TOTAL_LEVEL; i >= showLevel; i--) {
+		for (int i = totalLevel; i >= showLevel; i--) {
             if (!emptyLevel(i - 1)) {
                 buf = buf.append("\n --- LEVEL " + i + ":\n ");
-                for (int j = 0; j < itemTable.get(i - 1).size(); j++) {
-                    buf = buf.append(Item.toStringLong(itemTable.get(i - 1).get(j)) + "\n ");
+                for (Type item : table.levelItems(i - 1)) {
+                    buf = buf.append(Item.toStringLong(item) + "\n ");
                 }
             }
         }
@@ -376,10 +432,10 @@ public abstract class Bag  <Type extends Item> {
     String showSizes() {
         StringBuilder buf = new StringBuilder(" ");
     	int levels = 0;
-    	for ( List<Type> items : itemTable) {
-            if ((items != null) && ! items.isEmpty()) {
+    	for (int i = 0; i < totalLevel; i++) {
+            if (!emptyLevel(i)) {
 				levels++;
-				buf.append( items.size() ).append( " " );
+				buf.append( table.levelSize(i) ).append( " " );
             }
 		}
     	return "Levels: " + Integer.toString( levels ) + ", sizes: " + buf;
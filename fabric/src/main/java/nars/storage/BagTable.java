@@ -0,0 +1,93 @@
+package nars.storage;
+
+import nars.entity.Item;
+
+import java.util.List;
+
+/**
+ * The storage of a Bag: its Items by key, and by priority level in FIFO order.
+ * <p>
+ * The two views are kept apart, as the Bag updates them one after the other.
+ * @param <Type> The type of the Item in the Bag
+ */
+interface BagTable<Type extends Item> {
+
+    /**
+     * Get an Item by key
+     * @param key The key of the Item
+     * @return The Item, or null
+     */
+    Type get(String key);
+
+    /**
+     * Map a key to an Item
+     * @param key The key of the Item
+     * @param item The Item
+     * @return The Item previously under the key, or null
+     */
+    Type put(String key, Type item);
+
+    /**
+     * Unmap a key
+     * @param key The key of the Item
+     */
+    void remove(String key);
+
+    /**
+     * Check if an Item is mapped to by some key
+     * @param item The Item
+     * @return Whether it is in the table
+     */
+    boolean containsValue(Type item);
+
+    /**
+     * The number of keys mapped
+     * @return The size of the table
+     */
+    int size();
+
+    /**
+     * Check whether a level is empty
+     * @param level The level index
+     * @return Whether no Item is at that level
+     */
+    boolean emptyLevel(int level);
+
+    /**
+     * The number of Items at a level
+     * @param level The level index
+     * @return The count, 0 for an empty level
+     */
+    int levelSize(int level);
+
+    /**
+     * Append an Item to a level
+     * @param level The level index
+     * @param item The Item
+     */
+    void add(int level, Type item);
+
+    /**
+     * Remove the oldest Item of a non-empty level
+     * @param level The level index
+     * @return The Item removed
+     */
+    Type removeFirst(int level);
+
+    /**
+     * Remove an Item from a level, if it is there
+     * @param level The level index
+     * @param item The Item
+     */
+    void remove(int level, Type item);
+
+    /**
+     * The Items of a level in FIFO order
+     * <p>
+     * The list may be the one the table keeps, so it is not to be changed,
+     * nor held across changes of the table
+     * @param level The level index
+     * @return The Items, or null for a level never used
+     */
+    List<Type> levelItems(int level);
+}
@@ -23,10 +23,29 @@ package nars.storage;
 
 import nars.entity.Concept;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Contains Concepts.
+ * <p>
+ * The dormant levels are swept a few Concepts per cycle, and the ones not
+ * fired for CONCEPT_DEHYDRATE_CYCLE cycles are dehydrated. The sweep works on
+ * a copy of the level taken when it gets there, skipping the Concepts that
+ * have left the bag since.
+ * <p>
+ * A bag of more than OFF_HEAP_BAG_CAPACITY Concepts keeps its index off the
+ * Java heap; together with the disk tier of the memory, only the Concepts
+ * in use are heap objects with contents.
  */
 public class ConceptBag extends Bag<Concept> {
+    /** the dormant level being swept */
+    private int sweepLevel;
+    /** the Concepts of that level when the sweep reached it */
+    private List<Concept> sweepItems;
+    /** the position in that level */
+    private int sweepIndex;
+
     /** Constructor
      * @param memory The reference of memory
      */
@@ -35,11 +54,11 @@ public class ConceptBag extends Bag<Concept> {
     }
     /**
      *
-     * Get the (constant) capacity of ConceptBag
+     * Get the capacity of ConceptBag, from the Profile of the memory
      * @return The capacity of ConceptBag
      */
     protected int capacity() {
-        return Parameters.CONCEPT_BAG_SIZE;
+        return memory.getProfile().getConceptBagSize();
     }
     
     /**
@@ -49,4 +68,39 @@ public class ConceptBag extends Bag<Concept> {
     protected int forgetRate() {
     	return memory.getConceptForgettingRate().get();
     }
+
+    /**
+     * Keep an evicted Concept in the disk tier of the memory
+     * @param concept The Concept removed
+     */
+    @Override
+    protected void evicted(Concept concept) {
+        ((Memory) memory).getConceptStore().spill(concept);
+    }
+
+    /**
+     * Look at the next few dormant Concepts, and dehydrate the idle ones
+     * <p>
+     * called in Memory.workCycle only
+     * @param time The current time
+     */
+    public void dehydrate(long time) {
+        Profile profile = memory.getProfile();
+        for (int n = 0; n < profile.getConceptDehydrateSweep(); n++) {
+            if (sweepItems == null) {
+                List<Concept> level = levelItems(sweepLevel);
+                sweepItems = level == null ? null : new ArrayList<>(level);     // the table may hand out its own list
+            }
+            if (sweepItems == null || sweepIndex >= sweepItems.size()) {
+                sweepLevel = (sweepLevel + 1) % profile.getBagThreshold();
+                sweepItems = null;
+                sweepIndex = 0;
+                continue;
+            }
+            Concept concept = sweepItems.get(sweepIndex++);
+            if (get(concept.getKey()) == concept && time - concept.getLastFired() > profile.getConceptDehydrateCycle()) {
+                concept.dehydrate();
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package nars.storage;
+
+import nars.entity.BudgetValue;
+import nars.entity.Concept;
+import nars.language.Term;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The disk tier of the ConceptBag.
+ * <p>
+ * A Concept evicted from the full ConceptBag is appended to a local file, in
+ * the form of a dehydrated Concept, with its budget; an index in memory keeps
+ * the offset of the last record of each name. When its term shows up again,
+ * Memory.getConcept makes it from the record, with a decayed priority, and
+ * it is put back into the ConceptBag. The file is appended to, and compacted
+ * once more than half of it is records replaced or reloaded since; it is
+ * deleted when the JVM exits.
+ */
+public class ConceptStore {
+
+    /** garbage in the file, in bytes, below which it is never compacted */
+    private static final long COMPACT_MINIMUM = 1 << 20;
+
+    /** reference to memory */
+    private final Memory memory;
+    private File file;
+    private RandomAccessFile data;
+    /** offset of the record of each spilled Concept */
+    private final Map<String, Long> index = new HashMap<>();
+    /** bytes of the records no longer in the index */
+    private long garbage;
+    /** the Concept being put back into the ConceptBag */
+    private Concept reloading;
+
+    /**
+     * Constructor
+     * @param memory The reference to memory
+     */
+    public ConceptStore(Memory memory) {
+        this.memory = memory;
+    }
+
+    /**
+     * The number of Concepts on disk
+     * @return The size of the index
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Forget all spilled Concepts, called in Memory.init
+     */
+    public synchronized void clear() {
+        index.clear();
+        garbage = 0;
+        if (data != null) {
+            try {
+                data.setLength(0);
+            } catch (IOException e) {
+                memory.getRecorder().append("!!! Spill file not cleared: " + e.getMessage() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Whether a Concept is on disk
+     * @param name The name of the Concept
+     * @return Whether it has a record
+     */
+    public synchronized boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * Append an evicted Concept to the file
+     * <p>
+     * called in ConceptBag only
+     * @param concept The Concept removed from the ConceptBag
+     */
+    public synchronized void spill(Concept concept) {
+        if (concept == reloading) {
+            return;     // turned away on reload, its record is still there
+        }
+        byte[] bytes = concept.spill();
+        if (bytes == null) {
+            return;     // nothing learned
+        }
+        BudgetValue budget = concept.getBudget();
+        try {
+            RandomAccessFile out = open();
+            long offset = out.length();
+            out.seek(offset);
+            out.writeUTF(concept.getKey());
+            out.writeFloat(budget.getPriority());
+            out.writeFloat(budget.getDurability());
+            out.writeFloat(budget.getQuality());
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            Long old = index.put(concept.getKey(), offset);
+            if (old != null) {
+                garbage += recordLength(old);
+            }
+            if (garbage > COMPACT_MINIMUM && garbage > out.length() / 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            memory.getRecorder().append("!!! Not spilled: " + concept.getKey() + " --- " + e.getMessage() + "\n");
+        }
+    }
+
+    /**
+     * Make a spilled Concept again, with a decayed priority, and put it into
+     * the ConceptBag
+     * <p>
+     * The record is dropped only once the Concept is in the bag; a Concept
+     * the bag turns away is not spilled again, and its record keeps the
+     * budget it had, so a later reload decays it only once.
+     * @param term The term naming the Concept
+     * @return The Concept, dehydrated, in the bag; or null if it was not
+     * spilled, or not taken by the bag
+     */
+    public synchronized Concept reload(Term term) {
+        Long offset = index.get(term.getName());
+        if (offset == null) {
+            return null;
+        }
+        Concept concept;
+        try {
+            data.seek(offset);
+            data.readUTF();
+            BudgetValue budget = new BudgetValue(data.readFloat() * Parameters.CONCEPT_RELOAD_DECAY, data.readFloat(), data.readFloat());
+            byte[] bytes = new byte[data.readInt()];
+            data.readFully(bytes);
+            concept = new Concept(term, memory);
+            concept.restore(bytes, budget);
+        } catch (IOException e) {
+            memory.getRecorder().append("!!! Not reloaded: " + term + " --- " + e.getMessage() + "\n");
+            index.remove(term.getName());   // unreadable, learned afresh
+            return null;
+        }
+        reloading = concept;
+        try {
+            if (!memory.getConcepts().putIn(concept)) {
+                return null;
+            }
+        } finally {
+            reloading = null;
+        }
+        try {
+            garbage += recordLength(index.remove(term.getName()));   // moved if the put in compacted the file
+        } catch (IOException e) {
+            memory.getRecorder().append("!!! Spill file not read: " + e.getMessage() + "\n");
+        }
+        return concept;
+    }
+
+    /**
+     * The length in bytes of the record at an offset
+     */
+    private long recordLength(long offset) throws IOException {
+        data.seek(offset);
+        data.readUTF();
+        data.skipBytes(12);     // the budget
+        int length = data.readInt();
+        return data.getFilePointer() + length - offset;
+    }
+
+    /**
+     * Copy the records still in the index to a new file, dropping the
+     * ones replaced or reloaded since they were written
+     */
+    private void compact() throws IOException {
+        File compacted = File.createTempFile("nars-concepts", ".bin");
+        compacted.deleteOnExit();
+        RandomAccessFile out = new RandomAccessFile(compacted, "rw");
+        for (Map.Entry<String, Long> entry : index.entrySet()) {
+            byte[] record = new byte[(int) recordLength(entry.getValue())];
+            data.seek(entry.getValue());
+            data.readFully(record);
+            entry.setValue(out.getFilePointer());
+            out.write(record);
+        }
+        data.close();
+        file.delete();
+        file = compacted;
+        data = out;
+        garbage = 0;
+    }
+
+    private RandomAccessFile open() throws IOException {
+        if (data == null) {
+            file = File.createTempFile("nars-concepts", ".bin");
+            file.deleteOnExit();
+            data = new RandomAccessFile(file, "rw");
+        }
+        return data;
+    }
+}
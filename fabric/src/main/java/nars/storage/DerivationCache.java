@@ -0,0 +1,150 @@
+package nars.storage;
+
+import nars.entity.Sentence;
+import nars.entity.Stamp;
+import nars.entity.Task;
+import nars.entity.TaskLink;
+import nars.entity.TermLink;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Premise pairs known to derive nothing, so that RuleTables.reason skips
+ * them when they are fired again.
+ * <p>
+ * A pair is keyed by the task sentence and the belief sentence, each by its
+ * content, punctuation, truth value and Stamp, by whether the task is
+ * structural, and by the types and indices of the two links. A premise whose
+ * truth value or evidence changes is a new key, so nothing needs to be
+ * invalidated. Pairs on a question are not kept, as what they derive depends
+ * on the best solution found so far. The table drops its least recently used
+ * entry once full.
+ */
+public class DerivationCache {
+
+    /** the premises of one firing */
+    private static final class Premises {
+        final String task;
+        final int punctuation;
+        final boolean structural;
+        final float taskFrequency, taskConfidence;
+        final Stamp taskStamp;
+        final String beliefTerm;
+        final String belief;
+        final float beliefFrequency, beliefConfidence;
+        final Stamp beliefStamp;
+        final int types;
+        final long taskIndex, beliefIndex;
+        final int hash;
+
+        Premises(Task taskItem, Sentence beliefSentence, TaskLink tLink, TermLink bLink) {
+            Sentence taskSentence = taskItem.getSentence();
+            task = taskSentence.getContent().getName();
+            punctuation = taskSentence.getPunctuation();
+            structural = taskItem.isStructural();
+            taskFrequency = taskSentence.getTruth() == null ? Float.NaN : taskSentence.getTruth().getFrequency();
+            taskConfidence = taskSentence.getTruth() == null ? Float.NaN : taskSentence.getTruth().getConfidence();
+            taskStamp = taskSentence.getStamp();
+            beliefTerm = bLink.getTerm().getName();
+            belief = beliefSentence == null ? null : beliefSentence.getContent().getName();
+            beliefFrequency = beliefSentence == null ? Float.NaN : beliefSentence.getTruth().getFrequency();
+            beliefConfidence = beliefSentence == null ? Float.NaN : beliefSentence.getTruth().getConfidence();
+            beliefStamp = beliefSentence == null ? null : beliefSentence.getStamp();
+            types = (tLink.getType() << 16) | bLink.getType();
+            taskIndex = tLink.packedIndex();
+            beliefIndex = bLink.packedIndex();
+            int h = task.hashCode();
+            h = 31 * h + beliefTerm.hashCode();
+            h = 31 * h + taskStamp.hashCode();
+            h = 31 * h + (beliefStamp == null ? 0 : beliefStamp.hashCode());
+            h = 31 * h + Float.floatToIntBits(taskFrequency) + Float.floatToIntBits(beliefFrequency);
+            h = 31 * h + (types ^ (structural ? 1 << 31 : 0));
+            hash = 31 * h + Long.hashCode(taskIndex ^ beliefIndex);
+        }
+
+        @Override
+        public boolean equals(Object that) {
+            if (!(that instanceof Premises)) {
+                return false;
+            }
+            Premises p = (Premises) that;
+            return hash == p.hash && types == p.types && punctuation == p.punctuation
+                    && structural == p.structural
+                    && taskIndex == p.taskIndex && beliefIndex == p.beliefIndex
+                    && Float.compare(taskFrequency, p.taskFrequency) == 0
+                    && Float.compare(taskConfidence, p.taskConfidence) == 0
+                    && Float.compare(beliefFrequency, p.beliefFrequency) == 0
+                    && Float.compare(beliefConfidence, p.beliefConfidence) == 0
+                    && task.equals(p.task) && beliefTerm.equals(p.beliefTerm)
+                    && (belief == null ? p.belief == null : belief.equals(p.belief))
+                    && taskStamp.equals(p.taskStamp)
+                    && (beliefStamp == null ? p.beliefStamp == null : beliefStamp.equals(p.beliefStamp));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final Map<Premises, Boolean> barren;
+    private long hits;
+
+    /**
+     * Constructor
+     * @param capacity The number of premise pairs remembered
+     */
+    public DerivationCache(final int capacity) {
+        barren = new LinkedHashMap<Premises, Boolean>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Premises, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public void clear() {
+        barren.clear();
+        hits = 0;
+    }
+
+    /**
+     * Whether a premise pair is known to derive nothing
+     * @param task The task
+     * @param belief The belief sentence, or null
+     * @param tLink The link to the task
+     * @param bLink The link to the belief
+     * @return Whether reasoning on the pair can be skipped
+     */
+    public boolean isBarren(Task task, Sentence belief, TaskLink tLink, TermLink bLink) {
+        if (task.getSentence().isQuestion() || barren.get(new Premises(task, belief, tLink, bLink)) == null) {
+            return false;
+        }
+        hits++;
+        return true;
+    }
+
+    /**
+     * Remember a premise pair that derived nothing, unless the task is a
+     * question
+     * @param task The task
+     * @param belief The belief sentence, or null
+     * @param tLink The link to the task
+     * @param bLink The link to the belief
+     */
+    public void addBarren(Task task, Sentence belief, TaskLink tLink, TermLink bLink) {
+        if (task.getSentence().isQuestion()) {
+            return;     // trySolution depends on the best solution so far
+        }
+        barren.put(new Premises(task, belief, tLink, bLink), Boolean.TRUE);
+    }
+
+    /**
+     * The number of firings skipped
+     * @return The count since the last clear
+     */
+    public long getHits() {
+        return hits;
+    }
+}
@@ -20,15 +20,21 @@
  */
 package nars.storage;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A pseudo-random number generator, used in Bag.
  */
 class Distributor {
 
+	/** one Distributor per range, shared by all bags with that many levels */
+	private static final Map<Integer, Distributor> SHARED = new ConcurrentHashMap<>();
+
 	/** Shuffled sequence of index numbers */
-	private int order[];
+	private final int order[];
 	/** Capacity of the array */
-	private int capacity;
+	private final int capacity;
 
 	/**
 	 * For any number N < range, there is N+1 copies of it in the array,
@@ -55,6 +61,17 @@ class Distributor {
 		}
 	}
 
+	/**
+	 * The shared Distributor of a range, made on first use
+	 * 
+	 * @param range
+	 *            Range of valid numbers
+	 * @return the Distributor, read-only
+	 */
+	public static Distributor of(int range) {
+		return SHARED.computeIfAbsent(range, Distributor::new);
+	}
+
 	/**
 	 * Get the next number according to the given index
 	 * 
@@ -0,0 +1,100 @@
+package nars.storage;
+
+import nars.entity.Stamp;
+import nars.entity.TruthValue;
+
+import java.util.Arrays;
+
+/**
+ * Recently derived conclusions, to drop exact repeats before they are built.
+ * <p>
+ * A conclusion is identified by its content, punctuation, truth value and
+ * evidential base, and remembered in a Bloom filter of two generations: the
+ * current one takes new entries, and both are checked. Every window of
+ * cycles the older generation is cleared and becomes the current one, so a
+ * conclusion is remembered for one to two windows. A false positive drops a
+ * conclusion that was not derived before, at a rate set by the size of the
+ * filter; with the default size it is negligible.
+ */
+public class DuplicateFilter {
+
+    /** bits looked at per conclusion */
+    private static final int PROBES = 3;
+    /** the most bits in a generation, as each probe takes 21 bits of the hash */
+    public static final int MAX_SIZE = 1 << 21;
+
+    private long[] current;
+    private long[] previous;
+    private final int mask;
+    private final int window;
+    private long rotated;
+
+    /**
+     * Constructor
+     * @param size The number of bits in each generation, rounded up to a
+     * power of 2, at most MAX_SIZE
+     * @param window The cycles a generation takes new entries
+     */
+    public DuplicateFilter(int size, int window) {
+        int bits = Integer.highestOneBit(Math.min(Math.max(size, 64), MAX_SIZE) - 1) << 1;
+        mask = bits - 1;
+        current = new long[bits >>> 6];
+        previous = new long[bits >>> 6];
+        this.window = window;
+    }
+
+    public void clear() {
+        Arrays.fill(current, 0);
+        Arrays.fill(previous, 0);
+        rotated = 0;
+    }
+
+    /**
+     * Check whether a conclusion was derived recently, and remember it
+     * @param content The name of the content
+     * @param punctuation The punctuation of the sentence
+     * @param truth The truth value, or null for a question
+     * @param stamp The Stamp of the conclusion
+     * @param time The current time
+     * @return Whether the same conclusion is remembered
+     */
+    public boolean repeated(String content, int punctuation, TruthValue truth, Stamp stamp, long time) {
+        if (time - rotated >= 2L * window) {      // idle for both generations
+            Arrays.fill(current, 0);
+            Arrays.fill(previous, 0);
+            rotated = time;
+        } else if (time - rotated >= window) {
+            long[] cleared = previous;
+            Arrays.fill(cleared, 0);
+            previous = current;
+            current = cleared;
+            rotated = time;
+        }
+        long h = content.hashCode();
+        h = 31 * h + punctuation;
+        if (truth != null) {
+            h = 31 * h + Float.floatToIntBits(truth.getFrequency());
+            h = 31 * h + Float.floatToIntBits(truth.getConfidence());
+        }
+        h = 31 * h + (stamp == null ? 0 : stamp.hashCode());
+        h = mix(h);
+        boolean inCurrent = true, inPrevious = true;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) (h >>> (i * 21)) & mask;
+            long m = 1L << bit;
+            inCurrent &= (current[bit >>> 6] & m) != 0;
+            inPrevious &= (previous[bit >>> 6] & m) != 0;
+            current[bit >>> 6] |= m;
+        }
+        return inCurrent || inPrevious;
+    }
+
+    /**
+     * Spread the bits of a hash, as in SplitMix64
+     */
+    private static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,216 @@
+package nars.storage;
+
+import nars.entity.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BagTable of a small Bag, in flat parallel arrays.
+ * <p>
+ * Keys are found by a linear scan, comparing hashes first. Each Item on a
+ * level carries its level and arrival number, so the oldest Item of a level
+ * is the one with the smallest arrival; a bitmap tells the non-empty levels.
+ * For a few dozen Items this is smaller and faster than a hash table and a
+ * list per level.
+ * @param <Type> The type of the Item in the Bag
+ */
+class FlatTable<Type extends Item> implements BagTable<Type> {
+
+    /* the name table */
+    private String[] keys;
+    private int[] hashes;
+    private Item[] named;
+    private int size;
+
+    /* the levels */
+    private Item[] items;
+    private byte[] levels;
+    private long[] arrivals;
+    private int count;
+    /** arrival number of the next Item */
+    private long arrival;
+    /** one bit per non-empty level */
+    private final long[] occupied;
+
+    /**
+     * Constructor
+     * @param capacity The capacity of the Bag
+     * @param levels The number of levels, at most 128
+     */
+    FlatTable(int capacity, int levels) {
+        assert levels <= Byte.MAX_VALUE + 1;
+        int initial = Math.min(capacity + 1, 4);
+        keys = new String[initial];
+        hashes = new int[initial];
+        named = new Item[initial];
+        items = new Item[initial];
+        this.levels = new byte[initial];
+        arrivals = new long[initial];
+        occupied = new long[(levels + 63) >> 6];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type get(String key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (Type) named[i];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type put(String key, Type item) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            Type old = (Type) named[i];
+            named[i] = item;
+            return old;
+        }
+        if (size == keys.length) {
+            int length = size * 2;
+            keys = Arrays.copyOf(keys, length);
+            hashes = Arrays.copyOf(hashes, length);
+            named = Arrays.copyOf(named, length);
+        }
+        keys[size] = key;
+        hashes[size] = key.hashCode();
+        named[size] = item;
+        size++;
+        return null;
+    }
+
+    @Override
+    public void remove(String key) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            size--;
+            keys[i] = keys[size];
+            hashes[i] = hashes[size];
+            named[i] = named[size];
+            keys[size] = null;
+            named[size] = null;
+        }
+    }
+
+    @Override
+    public boolean containsValue(Type item) {
+        for (int i = 0; i < size; i++) {
+            if (item.equals(named[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean emptyLevel(int level) {
+        return (occupied[level >> 6] & (1L << level)) == 0;
+    }
+
+    @Override
+    public int levelSize(int level) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (levels[i] == level) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void add(int level, Type item) {
+        if (count == items.length) {
+            int length = count * 2;
+            items = Arrays.copyOf(items, length);
+            levels = Arrays.copyOf(levels, length);
+            arrivals = Arrays.copyOf(arrivals, length);
+        }
+        items[count] = item;
+        levels[count] = (byte) level;
+        arrivals[count] = arrival++;
+        count++;
+        occupied[level >> 6] |= 1L << level;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type removeFirst(int level) {
+        int first = -1;
+        for (int i = 0; i < count; i++) {
+            if (levels[i] == level && (first < 0 || arrivals[i] < arrivals[first])) {
+                first = i;
+            }
+        }
+        Type selected = (Type) items[first];
+        removeAt(first);
+        return selected;
+    }
+
+    @Override
+    public void remove(int level, Type item) {
+        int first = -1;
+        for (int i = 0; i < count; i++) {
+            if (levels[i] == level && item.equals(items[i]) && (first < 0 || arrivals[i] < arrivals[first])) {
+                first = i;
+            }
+        }
+        if (first >= 0) {
+            removeAt(first);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Type> levelItems(int level) {
+        if (emptyLevel(level)) {
+            return null;
+        }
+        Integer[] order = new Integer[levelSize(level)];
+        for (int i = 0, n = 0; i < count; i++) {
+            if (levels[i] == level) {
+                order[n++] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(arrivals[a], arrivals[b]));
+        List<Type> result = new ArrayList<>(order.length);
+        for (int i : order) {
+            result.add((Type) items[i]);
+        }
+        return result;
+    }
+
+    private int indexOf(String key) {
+        int h = key.hashCode();
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == h && key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove an Item from the levels, moving the last one into its slot
+     */
+    private void removeAt(int i) {
+        byte level = levels[i];
+        count--;
+        items[i] = items[count];
+        levels[i] = levels[count];
+        arrivals[i] = arrivals[count];
+        items[count] = null;
+        for (int j = 0; j < count; j++) {
+            if (levels[j] == level) {
+                return;
+            }
+        }
+        occupied[level >> 6] &= ~(1L << level);
+    }
+}
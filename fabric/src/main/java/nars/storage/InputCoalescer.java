@@ -0,0 +1,135 @@
+package nars.storage;
+
+import nars.entity.BudgetValue;
+import nars.entity.Sentence;
+import nars.entity.Stamp;
+import nars.entity.Task;
+import nars.inference.BudgetFunctions;
+import nars.inference.TruthFunctions;
+import nars.io.Symbols;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input judgments held back to be pooled, in front of Memory.inputTask.
+ * <p>
+ * A feed may repeat the same judgment many times per cycle, with slightly
+ * different truth values. When the Profile gives an INPUT_COALESCE_WINDOW, a
+ * revisible input judgment is held here under its content; once the first
+ * one of a content has waited that many cycles, all of them enter the memory
+ * as one Task, whose truth value pools their evidence by revision, whose
+ * Stamp combines theirs, and whose budget merges theirs. A judgment alone in
+ * its window enters unchanged. When the input channels run dry, the groups
+ * still held are flushed without waiting for their window.
+ */
+public class InputCoalescer {
+
+    /** the judgments held on one content */
+    private static final class Group {
+        final long since;
+        final List<Task> tasks = new ArrayList<>();
+
+        Group(long since) {
+            this.since = since;
+        }
+    }
+
+    /** the groups in the order their first judgment came */
+    private final Map<String, Group> pending = new LinkedHashMap<>();
+
+    /**
+     * Hold an input judgment
+     * @param task A revisible judgment with its Stamp
+     * @param time The current time
+     */
+    public void add(Task task, long time) {
+        pending.computeIfAbsent(task.getContent().getName(), k -> new Group(time)).tasks.add(task);
+    }
+
+    /**
+     * The number of contents held
+     * @return The number of groups
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Forget the held judgments, called in Memory.init
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Take out the groups whose window is over, each pooled into one Task
+     * @param time The current time
+     * @param window The cycles a group is held
+     * @return The Tasks to enter the memory, in the order they came
+     */
+    public List<Task> due(long time, int window) {
+        List<Task> due = new ArrayList<>();
+        Iterator<Group> groups = pending.values().iterator();
+        while (groups.hasNext()) {
+            Group group = groups.next();
+            if (time - group.since < window) {
+                break;      // the later groups came later
+            }
+            groups.remove();
+            pool(group.tasks, time, due);
+        }
+        return due;
+    }
+
+    /**
+     * Take out all the groups, each pooled into one Task
+     * @param time The current time
+     * @return The Tasks to enter the memory, in the order they came
+     */
+    public List<Task> flush(long time) {
+        List<Task> due = new ArrayList<>();
+        for (Group group : pending.values()) {
+            pool(group.tasks, time, due);
+        }
+        pending.clear();
+        return due;
+    }
+
+    /**
+     * Pool the judgments on one content, or give them back one by one when
+     * their evidence overlaps
+     */
+    private static void pool(List<Task> tasks, long time, List<Task> due) {
+        int n = tasks.size();
+        if (n == 1) {
+            due.add(tasks.get(0));
+            return;
+        }
+        float[] f = new float[n];
+        float[] c = new float[n];
+        Stamp[] stamps = new Stamp[n];
+        for (int i = 0; i < n; i++) {
+            Sentence judg = tasks.get(i).getSentence();
+            f[i] = judg.getTruth().getFrequency();
+            c[i] = judg.getTruth().getConfidence();
+            stamps[i] = judg.getStamp();
+        }
+        Stamp stamp = Stamp.make(stamps, n, time);
+        if (stamp == null) {
+            due.addAll(tasks);
+            return;
+        }
+        Task first = tasks.get(0);
+        BudgetValue budget = new BudgetValue(first.getBudget());
+        for (int i = 1; i < n; i++) {
+            BudgetFunctions.merge(budget, tasks.get(i).getBudget());
+        }
+        Sentence sentence = new Sentence(first.getContent(), Symbols.JUDGMENT_MARK,
+                TruthFunctions.truth(TruthFunctions.revision(f, c, n)), stamp, true);
+        due.add(new Task(sentence, budget));
+    }
+}
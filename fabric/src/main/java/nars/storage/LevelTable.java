@@ -0,0 +1,95 @@
+package nars.storage;
+
+import nars.entity.Item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BagTable of a large Bag: a hash table of keys, and a list per level, made
+ * when an Item first lands on that level.
+ * @param <Type> The type of the Item in the Bag
+ */
+class LevelTable<Type extends Item> implements BagTable<Type> {
+
+    /** mapping from key to item */
+    private final Map<String, Type> nameTable;
+    /** array of lists of items, for items on different level */
+    private final List<ArrayList<Type>> itemTable;
+
+    /**
+     * Constructor
+     * @param capacity The capacity of the Bag
+     * @param levels The number of levels
+     */
+    LevelTable(int capacity, int levels) {
+        itemTable = new ArrayList<ArrayList<Type>>(levels);
+        for (int i = 0; i < levels; i++) {
+            itemTable.add(null);    // a level list is made when first used
+        }
+        nameTable = new HashMap<String, Type>((int) (capacity / Parameters.LOAD_FACTOR), Parameters.LOAD_FACTOR);
+    }
+
+    @Override
+    public Type get(String key) {
+        return nameTable.get(key);
+    }
+
+    @Override
+    public Type put(String key, Type item) {
+        return nameTable.put(key, item);
+    }
+
+    @Override
+    public void remove(String key) {
+        nameTable.remove(key);
+    }
+
+    @Override
+    public boolean containsValue(Type item) {
+        return nameTable.containsValue(item);
+    }
+
+    @Override
+    public int size() {
+        return nameTable.size();
+    }
+
+    @Override
+    public boolean emptyLevel(int level) {
+        return ((itemTable.get(level) == null) || itemTable.get(level).isEmpty());
+    }
+
+    @Override
+    public int levelSize(int level) {
+        List<Type> items = itemTable.get(level);
+        return items == null ? 0 : items.size();
+    }
+
+    @Override
+    public void add(int level, Type item) {
+        if (itemTable.get(level) == null) {
+            itemTable.set(level, new ArrayList<Type>());
+        }
+        itemTable.get(level).add(item);
+    }
+
+    @Override
+    public Type removeFirst(int level) {
+        return itemTable.get(level).remove(0);
+    }
+
+    @Override
+    public void remove(int level, Type item) {
+        if (itemTable.get(level) != null) {
+            itemTable.get(level).remove(item);
+        }
+    }
+
+    @Override
+    public List<Type> levelItems(int level) {
+        return itemTable.get(level);
+    }
+}
@@ -24,6 +24,7 @@ import nars.data.BudgetStruct;
 import nars.data.TermStruct;
 import nars.entity.*;
 import nars.inference.BudgetFunctions;
+import nars.inference.RuleProfiler;
 import nars.io.IInferenceRecorder;
 import nars.language.Term;
 
@@ -43,9 +44,19 @@ public class Memory implements WorkSpace {
     private ConceptBag concepts;
     private NovelTaskBag novelTasks;
     private IInferenceRecorder recorder;
+    private Profile profile = new Profile();
+    private TermCache termCache = new TermCache(profile.getTermCacheSize());
+    private QuestionIndex questionIndex = new QuestionIndex(profile.getQuestionIndexSize(), profile.getMaximumQuestionsLength());
+    private DerivationCache derivationCache = new DerivationCache(profile.getDerivationCacheSize());
+    private DuplicateFilter duplicateFilter = new DuplicateFilter(profile.getDuplicateFilterSize(), profile.getDuplicateWindow());
+    private ConceptStore conceptStore = new ConceptStore(this);
+    private InputCoalescer inputCoalescer = new InputCoalescer();
     private AtomicInteger beliefForgettingRate = new AtomicInteger(Parameters.TERM_LINK_FORGETTING_CYCLE);
     private AtomicInteger taskForgettingRate = new AtomicInteger(Parameters.TASK_LINK_FORGETTING_CYCLE);
     private AtomicInteger conceptForgettingRate = new AtomicInteger(Parameters.CONCEPT_FORGETTING_CYCLE);
+    private long currentSerial;
+    /** conclusions the rules got to, built or not */
+    private long conclusionCount;
 
     /* ---------- Short-term workspace for a single cycle ---------- */
     private List<Task> newTasks;
@@ -82,11 +93,45 @@ public class Memory implements WorkSpace {
         memory.getNovelTasks().init();
         memory.getNewTasks().clear();
         memory.getExportStrings().clear();
+        memory.getTermCache().clear();
+        memory.getQuestionIndex().clear();
+        memory.getDerivationCache().clear();
+        memory.getDuplicateFilter().clear();
+        memory.getConceptStore().clear();
+        memory.getInputCoalescer().clear();
+        memory.setCurrentSerial(0);
 //      reasoner.getMainWindow().initTimer();
         ReasonerBatch.initTimer(memory.getReasoner());
         memory.getRecorder().append("\n-----RESET-----\n");
     }
 
+    /**
+     * Size the memory by a Profile, emptying it
+     * <p>
+     * called before the reasoner runs, as from CommandLineParameters
+     *
+     * @param memory The memory
+     * @param profile The new sizes and thresholds
+     */
+    public static void configure(Memory memory, Profile profile) {
+        memory.profile = profile;
+        memory.termCache = new TermCache(profile.getTermCacheSize());
+        memory.questionIndex = new QuestionIndex(profile.getQuestionIndexSize(), profile.getMaximumQuestionsLength());
+        memory.derivationCache = new DerivationCache(profile.getDerivationCacheSize());
+        memory.duplicateFilter = new DuplicateFilter(profile.getDuplicateFilterSize(), profile.getDuplicateWindow());
+        memory.getConcepts().init();
+        memory.getNovelTasks().init();
+        memory.getConceptStore().clear();
+    }
+
+    /**
+     * The sizes and thresholds of this memory
+     */
+    @Override
+    public Profile getProfile() {
+        return profile;
+    }
+
     /**
      * List of Strings or Tasks to be sent to the output channels
      */ /* ---------- access utilities ---------- */
@@ -106,6 +151,78 @@ public class Memory implements WorkSpace {
         this.recorder = recorder;
     }
 
+    /**
+     * Compounds remembered by their construction, consulted by the make methods
+     */
+    public TermCache getTermCache() {
+        return termCache;
+    }
+
+    /**
+     * Concepts evicted from the ConceptBag, kept on disk
+     */
+    public ConceptStore getConceptStore() {
+        return conceptStore;
+    }
+
+    /**
+     * Input judgments held back to be pooled
+     */
+    public InputCoalescer getInputCoalescer() {
+        return inputCoalescer;
+    }
+
+    /**
+     * Open questions, looked up by the judgments that may answer them
+     */
+    public QuestionIndex getQuestionIndex() {
+        return questionIndex;
+    }
+
+    /**
+     * Premise pairs known to derive nothing
+     */
+    public DerivationCache getDerivationCache() {
+        return derivationCache;
+    }
+
+    /**
+     * Conclusions derived recently
+     */
+    public DuplicateFilter getDuplicateFilter() {
+        return duplicateFilter;
+    }
+
+    /**
+     * The number of conclusions the rules got to, built into Tasks or not;
+     * unchanged over a firing that derived nothing
+     */
+    public long getConclusionCount() {
+        return conclusionCount;
+    }
+
+    /**
+     * Serial number of the last input Task, one sequence per memory
+     */
+    public long getCurrentSerial() {
+        return currentSerial;
+    }
+
+    public void setCurrentSerial(long currentSerial) {
+        this.currentSerial = currentSerial;
+    }
+
+    /**
+     * Issue the serial number for a new Stamp, called in Stamp only
+     *
+     * @param memory
+     * @return The next serial number
+     */
+    public static long nextSerial(Memory memory) {
+        memory.setCurrentSerial(memory.getCurrentSerial() + 1);
+        return memory.getCurrentSerial();
+    }
+
     public static long getTime(Memory memory) {
         return ReasonerBatch.getTime(memory.getReasoner().getClock());
     }
@@ -136,7 +253,7 @@ public class Memory implements WorkSpace {
 
     /**
      * Get a Term for a given name of a Concept or Operator <p> called in
-     * StringParser and the make methods of compound terms.
+     * NarseseParser and the make methods of compound terms.
      *
      * @param memory
      * @param name the name of a concept or operator
@@ -156,7 +273,11 @@ public class Memory implements WorkSpace {
      * @return a Concept or null
      */
     public static Concept termToConcept(Memory memory, TermStruct term) {
-        return nameToConcept(memory, term.getName());
+        Concept concept = nameToConcept(memory, term.getName());
+        if (null == concept && term instanceof Term) {
+            concept = memory.getConceptStore().reload((Term) term);
+        }
+        return concept;
     }
 
     /**
@@ -174,6 +295,10 @@ public class Memory implements WorkSpace {
                 Concept concept = memory.getConcepts().get(term.getName());
 
             if (null == concept) {
+                if (memory.getConceptStore().contains(term.getName())) {   // learned before, evicted since
+                    r = memory.getConceptStore().reload(term);   // null when the bag turns it away
+                    break e;
+                }
                 concept = new Concept(term, memory); // the only place to make a new Concept
                 boolean created = memory.getConcepts().putIn(concept);
                 if (created) r = concept;
@@ -208,17 +333,55 @@ public class Memory implements WorkSpace {
      Some of them are reported and/or logged. */
     /**
      * Input task processing. Invoked by the outside or inside environment.
-     * Outside: StringParser (input); Inside: Operator (feedback). Input tasks
+     * Outside: NarseseParser (input); Inside: Operator (feedback). Input tasks
      * with low priority are ignored, and the others are put into task buffer.
      *
+     * <p>
+     * With an input coalescing window in the Profile, a revisible judgment is
+     * held in the InputCoalescer instead, to enter later pooled with the
+     * others on its content.
+     *
      * @param memory
      * @param task The input task
      */
     public static void inputTask(Memory memory, Task task) {
+        Sentence sentence = task.getSentence();
+        if (memory.getProfile().getInputCoalesceWindow() > 0 && sentence.isJudgment() && sentence.getRevisible()) {
+            memory.getInputCoalescer().add(task, getTime(memory));
+            return;
+        }
+        perceive(memory, task);
+    }
+
+    /**
+     * Let in all the judgments held in the InputCoalescer, at the end of the
+     * input
+     * <p>
+     * called in ReasonerBatch.doTick only
+     *
+     * @param memory
+     * @return Whether any judgment was held
+     */
+    public static boolean flushInput(Memory memory) {
+        if (memory.getInputCoalescer().size() == 0) {
+            return false;
+        }
+        for (Task task : memory.getInputCoalescer().flush(getTime(memory))) {
+            perceive(memory, task);
+        }
+        return true;
+    }
+
+    /**
+     * Put an input task into the task buffer, unless its priority is too low
+     *
+     * @param memory
+     * @param task The input task
+     */
+    private static void perceive(Memory memory, Task task) {
         if (task.getBudget().aboveThreshold()) {
             memory.getRecorder().append("!!! Perceived: " + task + "\n");
-            Sentence sentence = task.getSentence();
-            report(memory, sentence, true);    // report input
+            report(memory, task.getSentence(), true);    // report input
             memory.getNewTasks().add(task);       // wait to be processed in the next workCycle
         } else {
             memory.getRecorder().append("!!! Neglected: " + task + "\n");
@@ -236,8 +399,11 @@ public class Memory implements WorkSpace {
      * forward/backward correspondence
      */
     public static void activatedTask(Memory memory, BudgetValue budget, Sentence sentence, Sentence candidateBelief) {
+        memory.conclusionCount++;
         Task task = new Task(sentence, budget, memory.getCurrentTask(), sentence, candidateBelief);
-        memory.getRecorder().append("!!! Activated: " + task + "\n");
+        if (memory.getRecorder().isLogging()) {
+            memory.getRecorder().append("!!! Activated: " + task + "\n");
+        }
         if (sentence.isQuestion()) {
             float s = task.getBudget().summary();
 //            float minSilent = reasoner.getMainWindow().silentW.value() / 100.0f;
@@ -255,8 +421,12 @@ public class Memory implements WorkSpace {
      * @param task the derived task
      */
     private static void derivedTask(Memory memory, Task task) {
-        if (task.getBudget().aboveThreshold()) {
-            memory.getRecorder().append("!!! Derived: " + task + "\n");
+        boolean aboveThreshold = task.getBudget().aboveThreshold();
+        RuleProfiler.derived(aboveThreshold);
+        if (aboveThreshold) {
+            if (memory.getRecorder().isLogging()) {
+                memory.getRecorder().append("!!! Derived: " + task + "\n");
+            }
             float budget = task.getBudget().summary();
 //            float minSilent = reasoner.getMainWindow().silentW.value() / 100.0f;
             float minSilent = ReasonerBatch.getSilenceValue(memory.getReasoner().getSilenceValue()).get() / 100.0f;
@@ -264,12 +434,52 @@ public class Memory implements WorkSpace {
                 report(memory, task.getSentence(), false);
             }
             memory.getNewTasks().add(task);
-        } else {
+            RuleProfiler.kept();
+        } else if (memory.getRecorder().isLogging()) {
             memory.getRecorder().append("!!! Ignored: " + task + "\n");
         }
     }
 
     /* --------------- new task building --------------- */
+    /**
+     * Whether a conclusion is to be built into a Task: one whose budget is
+     * below the threshold is only counted, unless the recorder logs it, and
+     * one derived within the last few cycles, with the same evidence, is
+     * dropped
+     * <p>
+     * The conclusion is still a candidate here, its content, truth value and
+     * budget as the rule made them and its Stamp in the memory; the Sentence,
+     * which renames the variables of the content, and the Task, with its key,
+     * are only built for the few that pass. A repeat costs one probe of the
+     * DuplicateFilter; its budget is dropped with it, not merged into the
+     * earlier copy
+     *
+     * @param memory
+     * @param newContent The content of the conclusion
+     * @param punctuation The punctuation of the conclusion
+     * @param newTruth The truth value of the conclusion
+     * @param newBudget The budget value of the conclusion
+     * @return Whether to build the Sentence and the Task
+     */
+    private static boolean worthBuilding(Memory memory, Term newContent, int punctuation, TruthValue newTruth, BudgetValue newBudget) {
+        boolean aboveThreshold = newBudget.aboveThreshold();
+        if (!aboveThreshold) {
+            if (memory.getRecorder().isLogging()) {
+                return true;
+            }
+            RuleProfiler.derived(false);
+            return false;
+        }
+        if (memory.getDuplicateFilter().repeated(newContent.getName(), punctuation, newTruth, memory.getNewStamp(), getTime(memory))) {
+            RuleProfiler.derived(true);
+            if (memory.getRecorder().isLogging()) {
+                memory.getRecorder().append("!!! Repeated: " + newContent + "\n");
+            }
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Shared final operations by all double-premise rules, called from the
      * rules except StructuralRules
@@ -280,8 +490,10 @@ public class Memory implements WorkSpace {
      * @param newBudget The budget value in task
      */
     public static void doublePremiseTask(Memory memory, Term newContent, TruthValue newTruth, BudgetValue newBudget) {
-        if (null != newContent) {
-            Sentence newSentence = new Sentence(newContent, memory.getCurrentTask().getSentence().getPunctuation(), newTruth, memory.getNewStamp());
+        memory.conclusionCount++;
+        int punctuation = memory.getCurrentTask().getSentence().getPunctuation();
+        if (null != newContent && worthBuilding(memory, newContent, punctuation, newTruth, newBudget)) {
+            Sentence newSentence = new Sentence(newContent, punctuation, newTruth, memory.getNewStamp());
             Task newTask = new Task(newSentence, newBudget, memory.getCurrentTask(), memory.getCurrentBelief());
             Memory.derivedTask(memory, newTask);
         }
@@ -298,8 +510,9 @@ public class Memory implements WorkSpace {
      * @param revisible Whether the sentence is revisible
      */
     public static void doublePremiseTask(Memory memory, Term newContent, TruthValue newTruth, BudgetValue newBudget, boolean revisible) {
-        if (null != newContent) {
-            Sentence taskSentence = memory.getCurrentTask().getSentence();
+        memory.conclusionCount++;
+        Sentence taskSentence = memory.getCurrentTask().getSentence();
+        if (null != newContent && worthBuilding(memory, newContent, taskSentence.getPunctuation(), newTruth, newBudget)) {
             Sentence newSentence = new Sentence(newContent, taskSentence.getPunctuation(), newTruth, memory.getNewStamp(), revisible);
             Task newTask = new Task(newSentence, newBudget, memory.getCurrentTask(), memory.getCurrentBelief());
             Memory.derivedTask(memory, newTask);
@@ -329,12 +542,16 @@ public class Memory implements WorkSpace {
      * @param newBudget The budget value in task
      */
     public static void singlePremiseTask(Memory memory, Term newContent, int punctuation, TruthValue newTruth, BudgetValue newBudget) {
+        memory.conclusionCount++;
         Sentence taskSentence = memory.getCurrentTask().getSentence();
         if (taskSentence.isJudgment() || null == memory.getCurrentBelief()) {
             memory.setNewStamp(Stamp.createStamp(taskSentence.getStamp(), Memory.getTime(memory)));
         } else {
             memory.setNewStamp(Stamp.createStamp(memory.getCurrentBelief().getStamp(), Memory.getTime(memory)));
         }
+        if (!worthBuilding(memory, newContent, punctuation, newTruth, newBudget)) {
+            return;
+        }
         Sentence newSentence = new Sentence(newContent, punctuation, newTruth, memory.getNewStamp(), taskSentence.getRevisible());
         Task newTask = new Task(newSentence, newBudget, memory.getCurrentTask(), null);
         Memory.derivedTask(memory, newTask);
@@ -350,6 +567,11 @@ public class Memory implements WorkSpace {
      */
     public static void workCycle(Memory memory, long clock) {
         memory.getRecorder().append(" --- " + clock + " ---\n");
+        if (memory.getInputCoalescer().size() > 0) {
+            for (Task task : memory.getInputCoalescer().due(getTime(memory), memory.getProfile().getInputCoalesceWindow())) {
+                perceive(memory, task);
+            }
+        }
         processNewTask(memory);
         if (noResult(memory)) {       // necessary?
             processNovelTask(memory);
@@ -357,6 +579,7 @@ public class Memory implements WorkSpace {
         if (noResult(memory)) {       // necessary?
             processConcept(memory);
         }
+        memory.getConcepts().dehydrate(getTime(memory));
         memory.getNovelTasks().refresh();
     }
 
@@ -408,7 +631,10 @@ public class Memory implements WorkSpace {
             memory.setCurrentTerm(memory.getCurrentConcept().getTerm());
             memory.getRecorder().append(" * Selected Concept: " + memory.getCurrentTerm() + "\n");
             memory.getConcepts().putBack(memory.getCurrentConcept());   // current Concept remains in the bag all the time
-            Concept.fireFromProcessConcept(memory.getCurrentConcept().getMemory(), memory.getCurrentConcept().getTaskLinks(), memory.getCurrentConcept().getTermLinks());              // a working workCycle
+            if (!memory.getCurrentConcept().isDehydrated()) {   // else it has no TaskLink to fire
+                memory.getCurrentConcept().setLastFired(getTime(memory));
+                Concept.fireFromProcessConcept(memory.getCurrentConcept().getMemory(), memory.getCurrentConcept().getTaskLinks(), memory.getCurrentConcept().getTermLinks());              // a working workCycle
+            }
         }
     }
 
@@ -422,7 +648,12 @@ public class Memory implements WorkSpace {
      */
     private static void immediateProcess(Memory memory, Task task) {
         memory.setCurrentTask(task); // one of the two places where this variable is set
-        memory.getRecorder().append("!!! Insert: " + task + "\n");
+        if (memory.getRecorder().isLogging()) {
+            memory.getRecorder().append("!!! Insert: " + task + "\n");
+        }
+        if (task.getSentence().isQuestion()) {
+            memory.getQuestionIndex().add(task);
+        }
         memory.setCurrentTerm(task.getContent());
         memory.setCurrentConcept(Memory.getConcept(memory, memory.getCurrentTerm()));
         if (null != memory.getCurrentConcept()) {
@@ -1,5 +1,6 @@
 package nars.storage;
 
+import nars.inference.RuleProfiler;
 import nars.io.ExperienceReader;
 import nars.io.ExperienceWriter;
 import nars.main_nogui.CommandLineParameters;
@@ -22,7 +23,6 @@ public class NARSBatch {
 	private transient boolean logging;
 	private PrintStream out = System.out;
 	private transient boolean dumpLastState = true;
-	private static boolean standAlone;
 
 	/**
 	 * The entry point of the standalone application.
@@ -35,9 +35,12 @@ public class NARSBatch {
 	 */
 	public static void main(String args[]) {
 		NARSBatch nars = new NARSBatch();
-		setStandAlone(true);
+		nars.getReasoner().setStandAlone(true);
 		CommandLineParameters.decode(args, nars.getReasoner());
 		runInference(nars, args);
+		if (RuleProfiler.isEnabled())
+			System.err.println("\n==== Rule Statistics ====\n"
+					+ RuleProfiler.dump());
 		// TODO only if single run ( no reset in between )
 		if (nars.isDumpLastState())
 			System.out.println("\n==== Dump Last State ====\n"
@@ -60,9 +63,10 @@ public class NARSBatch {
 	/** initialize from an input file */
 	public static void init(PrintStream out, ReasonerBatch reasoner,
 			String[] args) {
-		if (0 < args.length) {
+		String file = CommandLineParameters.inputFile(args);
+		if (null != file) {
 			ExperienceReader experienceReader = new ExperienceReader(reasoner);
-			experienceReader.openLoadFile(args[0]);
+			experienceReader.openLoadFile(file);
 		}
 		ReasonerBatch.addOutputChannel(reasoner, new ExperienceWriter(reasoner,
 				new PrintWriter(out, true)));
@@ -105,21 +109,29 @@ public class NARSBatch {
 	 * @param narsBatch
 	 */
 	public static void run(NARSBatch narsBatch) {
-		while (true) {
-			narsBatch.log("NARSBatch.run():" + " step "
-					+ ReasonerBatch.getTime(narsBatch.getReasoner().getClock())
-					+ " " + narsBatch.getReasoner().isFinishedInputs());
-			ReasonerBatch.tick(narsBatch.getReasoner());
-			narsBatch.log("NARSBatch.run(): after tick" + " step "
-					+ ReasonerBatch.getTime(narsBatch.getReasoner().getClock())
-					+ " " + narsBatch.getReasoner().isFinishedInputs());
-			if (narsBatch.getReasoner().isFinishedInputs()
-					|| 1000 == ReasonerBatch.getTime(narsBatch.getReasoner()
-							.getClock()))
-				break;
+		while (!step(narsBatch)) {
 		}
 	}
 
+	/**
+	 * Execute one NARS working cycle of a run to completion.
+	 * 
+	 * @param narsBatch
+	 * @return Whether the run is complete
+	 */
+	public static boolean step(NARSBatch narsBatch) {
+		narsBatch.log("NARSBatch.run():" + " step "
+				+ ReasonerBatch.getTime(narsBatch.getReasoner().getClock())
+				+ " " + narsBatch.getReasoner().isFinishedInputs());
+		ReasonerBatch.tick(narsBatch.getReasoner());
+		narsBatch.log("NARSBatch.run(): after tick" + " step "
+				+ ReasonerBatch.getTime(narsBatch.getReasoner().getClock())
+				+ " " + narsBatch.getReasoner().isFinishedInputs());
+		return narsBatch.getReasoner().isFinishedInputs()
+				|| 1000 == ReasonerBatch.getTime(narsBatch.getReasoner()
+						.getClock());
+	}
+
 	public static void setPrintStream(NARSBatch narsBatch, PrintStream out) {
 		narsBatch.setOut(out);
 	}
@@ -134,22 +146,6 @@ public class NARSBatch {
 		return reasoner;
 	}
 
-	/**
-	 * Flag to distinguish the two running modes of the project.
-	 */
-	/**
-	 * Whether the project running as an application.
-	 * 
-	 * @return true for application; false for applet.
-	 */
-	public static boolean isStandAlone() {
-		return standAlone;
-	}
-
-	public static void setStandAlone(boolean standAlone) {
-		NARSBatch.standAlone = standAlone;
-	}
-
 	public boolean isDumpLastState() {
 		return dumpLastState;
 	}
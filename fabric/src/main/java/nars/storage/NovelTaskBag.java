@@ -35,11 +35,11 @@ public class NovelTaskBag extends Bag<Task> {
         super(memory);
     }
     /**
-     * Get the (constant) capacity of NovelTaskBag
+     * Get the capacity of NovelTaskBag, from the Profile of the memory
      * @return The capacity of NovelTaskBag
      */
     protected int capacity() {
-        return Parameters.TASK_BUFFER_SIZE;
+        return memory.getProfile().getTaskBufferSize();
     }
 
     /**
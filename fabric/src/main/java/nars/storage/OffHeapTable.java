@@ -0,0 +1,310 @@
+package nars.storage;
+
+import nars.entity.Item;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BagTable of a very large Bag, with its index outside the Java heap.
+ * <p>
+ * Each Item has a slot. The slot record, in direct ByteBuffer segments, holds
+ * the hash of the key, the next slot of the hash chain, the previous and next
+ * slots of the level, the level, and whether the slot is named (reachable by
+ * key) and leveled (on a level). The hash buckets are direct segments too,
+ * allocated as they are first used, and the level lists are linked through
+ * the slots. The only objects on the heap are the Items themselves, in one
+ * reference array per segment, and three small arrays of level heads, tails
+ * and counts; no entry or list node is made per Item, so the collector has
+ * a few large arrays to trace instead of a graph that grows with the Bag.
+ * <p>
+ * A key put again leaves its old slot unnamed but still on its level until
+ * the Bag takes the old Item out; slots are recycled when neither named nor
+ * leveled. Direct memory is bounded by -XX:MaxDirectMemorySize, about 24
+ * bytes per Item.
+ * @param <Type> The type of the Item in the Bag
+ */
+class OffHeapTable<Type extends Item> implements BagTable<Type> {
+
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT = 1 << SEGMENT_BITS;
+    private static final int MASK = SEGMENT - 1;
+
+    /* the slot record, in ints */
+    private static final int HASH = 0, CHAIN = 1, PREV = 2, NEXT = 3, STATE = 4, RECORD = 5;
+    /* the STATE bits above the level */
+    private static final int NAMED = 1 << 8, LEVELED = 1 << 9;
+
+    /** slot records; slot numbers are stored plus one, so 0 is none */
+    private ByteBuffer[] slots = new ByteBuffer[1];
+    private Object[][] items = new Object[1][];
+    /** hash buckets, each the first slot of its chain */
+    private final ByteBuffer[] buckets;
+    private final int bucketMask;
+
+    /** first never used slot */
+    private int top;
+    /** first recycled slot, chained through CHAIN */
+    private int free;
+    /** number of named slots */
+    private int size;
+
+    /* the levels */
+    private final int[] heads;
+    private final int[] tails;
+    private final int[] counts;
+
+    /**
+     * Constructor
+     * @param capacity The capacity of the Bag
+     * @param levels The number of levels, at most 256
+     */
+    OffHeapTable(int capacity, int levels) {
+        assert levels <= NAMED;
+        int n = Integer.highestOneBit(Math.max(capacity, SEGMENT) - 1) << 1;
+        bucketMask = n - 1;
+        buckets = new ByteBuffer[(n + MASK) >> SEGMENT_BITS];
+        heads = new int[levels];
+        tails = new int[levels];
+        counts = new int[levels];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type get(String key) {
+        int s = named(key);
+        return s == 0 ? null : (Type) item(s);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type put(String key, Type item) {
+        Type old = null;
+        int s = named(key);
+        if (s != 0) {
+            old = (Type) item(s);
+            unmark(s, NAMED);
+        } else {
+            size++;
+        }
+        int h = key.hashCode();
+        int n = allocate(h, item);
+        set(n, STATE, NAMED);
+        return old;
+    }
+
+    @Override
+    public void remove(String key) {
+        int s = named(key);
+        if (s != 0) {
+            size--;
+            unmark(s, NAMED);
+        }
+    }
+
+    @Override
+    public boolean containsValue(Type item) {
+        int h = item.getKey().hashCode();
+        for (int s = bucket(h); s != 0; s = get(s, CHAIN)) {
+            if ((get(s, STATE) & NAMED) != 0 && item.equals(item(s))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean emptyLevel(int level) {
+        return counts[level] == 0;
+    }
+
+    @Override
+    public int levelSize(int level) {
+        return counts[level];
+    }
+
+    @Override
+    public void add(int level, Type item) {
+        int s = find(item, false);
+        if (s == 0) {
+            s = allocate(item.getKey().hashCode(), item);
+        }
+        set(s, STATE, get(s, STATE) | LEVELED | level);
+        set(s, PREV, tails[level]);
+        set(s, NEXT, 0);
+        if (tails[level] == 0) {
+            heads[level] = s;
+        } else {
+            set(tails[level], NEXT, s);
+        }
+        tails[level] = s;
+        counts[level]++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type removeFirst(int level) {
+        int s = heads[level];
+        Type selected = (Type) item(s);
+        unlevel(s, level);
+        return selected;
+    }
+
+    @Override
+    public void remove(int level, Type item) {
+        int s = find(item, true);
+        if (s != 0 && (get(s, STATE) & 0xff) == level) {
+            unlevel(s, level);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Type> levelItems(int level) {
+        if (counts[level] == 0) {
+            return null;
+        }
+        List<Type> result = new ArrayList<>(counts[level]);
+        for (int s = heads[level]; s != 0; s = get(s, NEXT)) {
+            result.add((Type) item(s));
+        }
+        return result;
+    }
+
+    /**
+     * The named slot of a key, or 0
+     */
+    private int named(String key) {
+        int h = key.hashCode();
+        for (int s = bucket(h); s != 0; s = get(s, CHAIN)) {
+            if (get(s, HASH) == h && (get(s, STATE) & NAMED) != 0 && key.equals(item(s).getKey())) {
+                return s;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The slot of an Item, leveled or not, or 0
+     */
+    private int find(Item item, boolean leveled) {
+        int h = item.getKey().hashCode();
+        for (int s = bucket(h); s != 0; s = get(s, CHAIN)) {
+            if (item(s) == item && ((get(s, STATE) & LEVELED) != 0) == leveled) {
+                return s;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Take a slot off its level
+     */
+    private void unlevel(int s, int level) {
+        int prev = get(s, PREV), next = get(s, NEXT);
+        if (prev == 0) {
+            heads[level] = next;
+        } else {
+            set(prev, NEXT, next);
+        }
+        if (next == 0) {
+            tails[level] = prev;
+        } else {
+            set(next, PREV, prev);
+        }
+        counts[level]--;
+        unmark(s, LEVELED | 0xff);
+    }
+
+    /**
+     * Clear state bits, and recycle the slot once it is neither named nor
+     * leveled
+     */
+    private void unmark(int s, int bits) {
+        int state = get(s, STATE) & ~bits;
+        set(s, STATE, state);
+        if ((state & (NAMED | LEVELED)) != 0) {
+            return;
+        }
+        int h = get(s, HASH);
+        int b = h & bucketMask;
+        int first = bucket(h);
+        if (first == s) {
+            bucketSegment(b).putInt((b & MASK) << 2, get(s, CHAIN));
+        } else {
+            int p = first;
+            while (get(p, CHAIN) != s) {
+                p = get(p, CHAIN);
+            }
+            set(p, CHAIN, get(s, CHAIN));
+        }
+        items[(s - 1) >> SEGMENT_BITS][(s - 1) & MASK] = null;
+        set(s, CHAIN, free);
+        free = s;
+    }
+
+    /**
+     * Take a free slot for an Item, at the head of its hash chain
+     */
+    private int allocate(int h, Item item) {
+        int s;
+        if (free != 0) {
+            s = free;
+            free = get(s, CHAIN);
+        } else {
+            s = ++top;
+            int segment = (s - 1) >> SEGMENT_BITS;
+            if (segment == slots.length) {
+                slots = Arrays.copyOf(slots, segment * 2);
+                items = Arrays.copyOf(items, segment * 2);
+            }
+            if (slots[segment] == null) {
+                slots[segment] = ByteBuffer.allocateDirect(SEGMENT * RECORD * 4).order(ByteOrder.nativeOrder());
+                items[segment] = new Object[SEGMENT];
+            }
+        }
+        items[(s - 1) >> SEGMENT_BITS][(s - 1) & MASK] = item;
+        int b = h & bucketMask;
+        ByteBuffer segment = bucketSegment(b);
+        set(s, HASH, h);
+        set(s, CHAIN, segment.getInt((b & MASK) << 2));
+        set(s, STATE, 0);
+        segment.putInt((b & MASK) << 2, s);
+        return s;
+    }
+
+    private int bucket(int h) {
+        int b = h & bucketMask;
+        ByteBuffer segment = buckets[b >> SEGMENT_BITS];
+        return segment == null ? 0 : segment.getInt((b & MASK) << 2);
+    }
+
+    private ByteBuffer bucketSegment(int b) {
+        ByteBuffer segment = buckets[b >> SEGMENT_BITS];
+        if (segment == null) {
+            segment = ByteBuffer.allocateDirect(SEGMENT * 4).order(ByteOrder.nativeOrder());
+            buckets[b >> SEGMENT_BITS] = segment;
+        }
+        return segment;
+    }
+
+    private Item item(int s) {
+        return (Item) items[(s - 1) >> SEGMENT_BITS][(s - 1) & MASK];
+    }
+
+    private int get(int s, int field) {
+        return slots[(s - 1) >> SEGMENT_BITS].getInt((((s - 1) & MASK) * RECORD + field) << 2);
+    }
+
+    private void set(int s, int field, int value) {
+        slots[(s - 1) >> SEGMENT_BITS].putInt((((s - 1) & MASK) * RECORD + field) << 2, value);
+    }
+}
@@ -1,7 +1,9 @@
 package nars.storage;
 
 /**
- * Collected system parameters. To be modified before compiling.
+ * Collected system parameters. To be modified before compiling; the sizes
+ * and thresholds are only the defaults of a Profile, which may be changed per
+ * reasoner at run time.
  */
 public class Parameters {
 
@@ -60,7 +62,11 @@ public class Parameters {
 	public static final int BAG_THRESHOLD = 10;
 	/** Hashtable load factor in Bag */
 	public static final float LOAD_FACTOR = (float) 0.5;
-	/** Size of ConceptBag */
+	/** Largest Bag kept in flat arrays instead of a hash table and level lists */
+	public static final int SMALL_BAG_CAPACITY = 100;
+	/** Smallest Bag whose index is kept outside the Java heap */
+	public static final int OFF_HEAP_BAG_CAPACITY = 100000;
+	/** Size of ConceptBag, unless given with --concepts */
 	public static final int CONCEPT_BAG_SIZE = 1000;
 	/** Size of TaskLinkBag */
 	public static final int TASK_LINK_BAG_SIZE = 20;
@@ -68,6 +74,28 @@ public class Parameters {
 	public static final int TERM_LINK_BAG_SIZE = 100;
 	/** Size of TaskBuffer */
 	public static final int TASK_BUFFER_SIZE = 20;
+	/** Size of TermCache, compounds remembered by their construction */
+	public static final int TERM_CACHE_SIZE = 1000;
+	/** Size of QuestionIndex, contents and patterns of open questions */
+	public static final int QUESTION_INDEX_SIZE = 1000;
+	/** Size of DerivationCache, premise pairs known to derive nothing */
+	public static final int DERIVATION_CACHE_SIZE = 10000;
+	/** Bits in each generation of the DuplicateFilter of derived Tasks, at most 2^21 */
+	public static final int DUPLICATE_FILTER_SIZE = 1 << 20;
+	/** Cycles a generation of the DuplicateFilter takes new entries */
+	public static final int DUPLICATE_WINDOW = 10;
+	/** Priority kept by a Concept reloaded from the disk tier */
+	public static final float CONCEPT_RELOAD_DECAY = 0.5f;
+	/** Cycles a dormant Concept stays unfired before it is dehydrated */
+	public static final int CONCEPT_DEHYDRATE_CYCLE = 100;
+	/** Dormant Concepts looked at for dehydration in each cycle */
+	public static final int CONCEPT_DEHYDRATE_SWEEP = 8;
+	/** Lines of experience read ahead and parsed together */
+	public static final int INPUT_BATCH_SIZE = 1024;
+	/** Working cycles a scheduled reasoner runs before yielding its thread */
+	public static final int SCHEDULER_SLICE = 100;
+	/** Cycles input judgments on one content are held to be pooled; 0 for none */
+	public static final int INPUT_COALESCE_WINDOW = 0;
 
 	/* ---------- avoiding repeated reasoning ---------- */
 	/** Maximum length of Stamp, a power of 2 */
@@ -0,0 +1,423 @@
+package nars.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+/**
+ * The sizes and thresholds of one reasoner.
+ * <p>
+ * A new Profile holds the values of Parameters. It may be changed through the
+ * setters, or from a properties file whose keys are the names of the
+ * Parameters constants, as in
+ * <pre>
+ * CONCEPT_BAG_SIZE = 1000000
+ * MAXIMUM_BELIEF_LENGTH = 3
+ * </pre>
+ * The Memory of a reasoner holds its Profile; the bags and Concepts read it
+ * when they are made, so a Profile is to be changed before the reasoner runs
+ * and given to {@link Memory#configure}.
+ */
+public class Profile {
+
+    /* ---------- space management ---------- */
+    private int bagLevel = Parameters.BAG_LEVEL;
+    private int bagThreshold = Parameters.BAG_THRESHOLD;
+    private int smallBagCapacity = Parameters.SMALL_BAG_CAPACITY;
+    private int offHeapBagCapacity = Parameters.OFF_HEAP_BAG_CAPACITY;
+    private int conceptBagSize = Parameters.CONCEPT_BAG_SIZE;
+    private int taskLinkBagSize = Parameters.TASK_LINK_BAG_SIZE;
+    private int termLinkBagSize = Parameters.TERM_LINK_BAG_SIZE;
+    private int taskBufferSize = Parameters.TASK_BUFFER_SIZE;
+    private int termCacheSize = Parameters.TERM_CACHE_SIZE;
+    private int questionIndexSize = Parameters.QUESTION_INDEX_SIZE;
+    private int derivationCacheSize = Parameters.DERIVATION_CACHE_SIZE;
+    private int duplicateFilterSize = Parameters.DUPLICATE_FILTER_SIZE;
+    private int duplicateWindow = Parameters.DUPLICATE_WINDOW;
+    private int conceptDehydrateCycle = Parameters.CONCEPT_DEHYDRATE_CYCLE;
+    private int conceptDehydrateSweep = Parameters.CONCEPT_DEHYDRATE_SWEEP;
+    private int inputCoalesceWindow = Parameters.INPUT_COALESCE_WINDOW;
+
+    /* ---------- time management ---------- */
+    private int maxMatchedTermLink = Parameters.MAX_MATCHED_TERM_LINK;
+    private int maxReasonedTermLink = Parameters.MAX_REASONED_TERM_LINK;
+
+    /* ---------- avoiding repeated reasoning ---------- */
+    private int maximumBeliefLength = Parameters.MAXIMUM_BELIEF_LENGTH;
+    private int maximumQuestionsLength = Parameters.MAXIMUM_QUESTIONS_LENGTH;
+
+    /**
+     * Override values from a properties file
+     * @param profile The Profile to change
+     * @param in The properties, keyed by Parameters names
+     * @throws IOException when the file cannot be read
+     * @throws IllegalArgumentException for an unknown key or a bad number, or
+     * values that do not fit together; the Profile is then left unchanged
+     */
+    public static void load(Profile profile, Reader in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        Profile staged = new Profile();
+        staged.copyFrom(profile);
+        for (String key : properties.stringPropertyNames()) {
+            apply(staged, key, properties.getProperty(key));
+        }
+        check(staged);      // once all keys are in, as they come in no order
+        profile.copyFrom(staged);
+    }
+
+    /**
+     * Override one value
+     * @param profile The Profile to change
+     * @param key The name of the Parameters constant
+     * @param value The new value, a positive integer, or 0 for an
+     * INPUT_COALESCE_WINDOW of none; a DUPLICATE_FILTER_SIZE is at most
+     * DuplicateFilter.MAX_SIZE
+     * @throws IllegalArgumentException for an unknown key or a bad number, or
+     * a value that does not fit the others; the Profile is then left unchanged
+     */
+    public static void set(Profile profile, String key, String value) {
+        Profile staged = new Profile();
+        staged.copyFrom(profile);
+        apply(staged, key, value);
+        check(staged);
+        profile.copyFrom(staged);
+    }
+
+    /**
+     * Override one value, without checking it against the others
+     */
+    private static void apply(Profile profile, String key, String value) {
+        String name = key.trim();
+        int n = Integer.parseInt(value.trim());
+        if (n < 0 || (n == 0 && !name.equals("INPUT_COALESCE_WINDOW"))) {    // the only one where 0 means something
+            throw new IllegalArgumentException(name + (n < 0 ? " must not be negative: " : " must be positive: ") + value);
+        }
+        switch (name) {
+            case "BAG_LEVEL":
+                profile.setBagLevel(n);
+                break;
+            case "BAG_THRESHOLD":
+                profile.setBagThreshold(n);
+                break;
+            case "SMALL_BAG_CAPACITY":
+                profile.setSmallBagCapacity(n);
+                break;
+            case "OFF_HEAP_BAG_CAPACITY":
+                profile.setOffHeapBagCapacity(n);
+                break;
+            case "CONCEPT_BAG_SIZE":
+                profile.setConceptBagSize(n);
+                break;
+            case "TASK_LINK_BAG_SIZE":
+                profile.setTaskLinkBagSize(n);
+                break;
+            case "TERM_LINK_BAG_SIZE":
+                profile.setTermLinkBagSize(n);
+                break;
+            case "TASK_BUFFER_SIZE":
+                profile.setTaskBufferSize(n);
+                break;
+            case "TERM_CACHE_SIZE":
+                profile.setTermCacheSize(n);
+                break;
+            case "QUESTION_INDEX_SIZE":
+                profile.setQuestionIndexSize(n);
+                break;
+            case "DERIVATION_CACHE_SIZE":
+                profile.setDerivationCacheSize(n);
+                break;
+            case "DUPLICATE_FILTER_SIZE":
+                if (n > DuplicateFilter.MAX_SIZE) {
+                    throw new IllegalArgumentException(name + " must not exceed " + DuplicateFilter.MAX_SIZE + ": " + value);
+                }
+                profile.setDuplicateFilterSize(n);
+                break;
+            case "DUPLICATE_WINDOW":
+                profile.setDuplicateWindow(n);
+                break;
+            case "CONCEPT_DEHYDRATE_CYCLE":
+                profile.setConceptDehydrateCycle(n);
+                break;
+            case "CONCEPT_DEHYDRATE_SWEEP":
+                profile.setConceptDehydrateSweep(n);
+                break;
+            case "INPUT_COALESCE_WINDOW":
+                profile.setInputCoalesceWindow(n);
+                break;
+            case "MAX_MATCHED_TERM_LINK":
+                profile.setMaxMatchedTermLink(n);
+                break;
+            case "MAX_REASONED_TERM_LINK":
+                profile.setMaxReasonedTermLink(n);
+                break;
+            case "MAXIMUM_BELIEF_LENGTH":
+                profile.setMaximumBeliefLength(n);
+                break;
+            case "MAXIMUM_QUESTIONS_LENGTH":
+                profile.setMaximumQuestionsLength(n);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown parameter: " + key);
+        }
+    }
+
+    /**
+     * Check the values that depend on one another
+     * @param profile The Profile to check
+     * @throws IllegalArgumentException when they do not fit together
+     */
+    private static void check(Profile profile) {
+        if (profile.getBagThreshold() > profile.getBagLevel() || profile.getBagLevel() > Byte.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("BAG_THRESHOLD must not exceed BAG_LEVEL, at most 128");
+        }
+    }
+
+    /**
+     * Take all values of another Profile
+     * @param other The Profile to copy
+     */
+    private void copyFrom(Profile other) {
+        bagLevel = other.bagLevel;
+        bagThreshold = other.bagThreshold;
+        smallBagCapacity = other.smallBagCapacity;
+        offHeapBagCapacity = other.offHeapBagCapacity;
+        conceptBagSize = other.conceptBagSize;
+        taskLinkBagSize = other.taskLinkBagSize;
+        termLinkBagSize = other.termLinkBagSize;
+        taskBufferSize = other.taskBufferSize;
+        termCacheSize = other.termCacheSize;
+        questionIndexSize = other.questionIndexSize;
+        derivationCacheSize = other.derivationCacheSize;
+        duplicateFilterSize = other.duplicateFilterSize;
+        duplicateWindow = other.duplicateWindow;
+        conceptDehydrateCycle = other.conceptDehydrateCycle;
+        conceptDehydrateSweep = other.conceptDehydrateSweep;
+        inputCoalesceWindow = other.inputCoalesceWindow;
+        maxMatchedTermLink = other.maxMatchedTermLink;
+        maxReasonedTermLink = other.maxReasonedTermLink;
+        maximumBeliefLength = other.maximumBeliefLength;
+        maximumQuestionsLength = other.maximumQuestionsLength;
+    }
+
+    /**
+     * Level granularity in Bag
+     */
+    public int getBagLevel() {
+        return bagLevel;
+    }
+
+    public void setBagLevel(int bagLevel) {
+        this.bagLevel = bagLevel;
+    }
+
+    /**
+     * Level separation in Bag, between the dormant and the active levels
+     */
+    public int getBagThreshold() {
+        return bagThreshold;
+    }
+
+    public void setBagThreshold(int bagThreshold) {
+        this.bagThreshold = bagThreshold;
+    }
+
+    /**
+     * Largest Bag kept in flat arrays
+     */
+    public int getSmallBagCapacity() {
+        return smallBagCapacity;
+    }
+
+    public void setSmallBagCapacity(int smallBagCapacity) {
+        this.smallBagCapacity = smallBagCapacity;
+    }
+
+    /**
+     * Smallest Bag whose index is kept outside the Java heap
+     */
+    public int getOffHeapBagCapacity() {
+        return offHeapBagCapacity;
+    }
+
+    public void setOffHeapBagCapacity(int offHeapBagCapacity) {
+        this.offHeapBagCapacity = offHeapBagCapacity;
+    }
+
+    /**
+     * Size of ConceptBag
+     */
+    public int getConceptBagSize() {
+        return conceptBagSize;
+    }
+
+    public void setConceptBagSize(int conceptBagSize) {
+        this.conceptBagSize = conceptBagSize;
+    }
+
+    /**
+     * Size of TaskLinkBag
+     */
+    public int getTaskLinkBagSize() {
+        return taskLinkBagSize;
+    }
+
+    public void setTaskLinkBagSize(int taskLinkBagSize) {
+        this.taskLinkBagSize = taskLinkBagSize;
+    }
+
+    /**
+     * Size of TermLinkBag
+     */
+    public int getTermLinkBagSize() {
+        return termLinkBagSize;
+    }
+
+    public void setTermLinkBagSize(int termLinkBagSize) {
+        this.termLinkBagSize = termLinkBagSize;
+    }
+
+    /**
+     * Size of TaskBuffer
+     */
+    public int getTaskBufferSize() {
+        return taskBufferSize;
+    }
+
+    public void setTaskBufferSize(int taskBufferSize) {
+        this.taskBufferSize = taskBufferSize;
+    }
+
+    /**
+     * Size of TermCache
+     */
+    public int getTermCacheSize() {
+        return termCacheSize;
+    }
+
+    public void setTermCacheSize(int termCacheSize) {
+        this.termCacheSize = termCacheSize;
+    }
+
+    /**
+     * Size of QuestionIndex
+     */
+    public int getQuestionIndexSize() {
+        return questionIndexSize;
+    }
+
+    public void setQuestionIndexSize(int questionIndexSize) {
+        this.questionIndexSize = questionIndexSize;
+    }
+
+    /**
+     * Size of DerivationCache
+     */
+    public int getDerivationCacheSize() {
+        return derivationCacheSize;
+    }
+
+    public void setDerivationCacheSize(int derivationCacheSize) {
+        this.derivationCacheSize = derivationCacheSize;
+    }
+
+    /**
+     * Bits in each generation of the DuplicateFilter, at most
+     * DuplicateFilter.MAX_SIZE; a larger size is used as the maximum
+     */
+    public int getDuplicateFilterSize() {
+        return duplicateFilterSize;
+    }
+
+    public void setDuplicateFilterSize(int duplicateFilterSize) {
+        this.duplicateFilterSize = duplicateFilterSize;
+    }
+
+    /**
+     * Cycles a generation of the DuplicateFilter takes new entries
+     */
+    public int getDuplicateWindow() {
+        return duplicateWindow;
+    }
+
+    public void setDuplicateWindow(int duplicateWindow) {
+        this.duplicateWindow = duplicateWindow;
+    }
+
+    /**
+     * Cycles a dormant Concept stays unfired before it is dehydrated
+     */
+    public int getConceptDehydrateCycle() {
+        return conceptDehydrateCycle;
+    }
+
+    public void setConceptDehydrateCycle(int conceptDehydrateCycle) {
+        this.conceptDehydrateCycle = conceptDehydrateCycle;
+    }
+
+    /**
+     * Dormant Concepts looked at for dehydration in each cycle
+     */
+    public int getConceptDehydrateSweep() {
+        return conceptDehydrateSweep;
+    }
+
+    public void setConceptDehydrateSweep(int conceptDehydrateSweep) {
+        this.conceptDehydrateSweep = conceptDehydrateSweep;
+    }
+
+    /**
+     * Cycles input judgments on one content are held to be pooled; 0 for none
+     */
+    public int getInputCoalesceWindow() {
+        return inputCoalesceWindow;
+    }
+
+    public void setInputCoalesceWindow(int inputCoalesceWindow) {
+        this.inputCoalesceWindow = inputCoalesceWindow;
+    }
+
+    /**
+     * Maximum TermLinks checked for novelty for each TaskLink in TermLinkBag
+     */
+    public int getMaxMatchedTermLink() {
+        return maxMatchedTermLink;
+    }
+
+    public void setMaxMatchedTermLink(int maxMatchedTermLink) {
+        this.maxMatchedTermLink = maxMatchedTermLink;
+    }
+
+    /**
+     * Maximum TermLinks used in reasoning for each Task in Concept
+     */
+    public int getMaxReasonedTermLink() {
+        return maxReasonedTermLink;
+    }
+
+    public void setMaxReasonedTermLink(int maxReasonedTermLink) {
+        this.maxReasonedTermLink = maxReasonedTermLink;
+    }
+
+    /**
+     * Maximum number of beliefs kept in a Concept
+     */
+    public int getMaximumBeliefLength() {
+        return maximumBeliefLength;
+    }
+
+    public void setMaximumBeliefLength(int maximumBeliefLength) {
+        this.maximumBeliefLength = maximumBeliefLength;
+    }
+
+    /**
+     * Maximum number of questions kept in a Concept
+     */
+    public int getMaximumQuestionsLength() {
+        return maximumQuestionsLength;
+    }
+
+    public void setMaximumQuestionsLength(int maximumQuestionsLength) {
+        this.maximumQuestionsLength = maximumQuestionsLength;
+    }
+}
@@ -0,0 +1,151 @@
+package nars.storage;
+
+import nars.entity.Task;
+import nars.io.Symbols;
+import nars.language.CompoundTerm;
+import nars.language.Statement;
+import nars.language.Term;
+import nars.language.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open questions of the whole memory, routed to the judgments that may answer
+ * them.
+ * <p>
+ * A question without query variable is kept under its content, the same key
+ * as its Concept, so a judgment finds it even after the Concept is forgotten.
+ * A question with query variables has no Concept at all; it is kept under a
+ * pattern: its operator and a component free of query variables, or its
+ * operator alone. A judgment looks up its own content and the few patterns
+ * its components make, and only the questions found there are unified with it.
+ * <p>
+ * Both tables drop their least recently used entry once full; a Concept
+ * still answers its own questions from its list.
+ */
+public class QuestionIndex {
+
+    /** the side of a statement a constant pattern component is on */
+    private static final char SUBJECT = 'S', PREDICATE = 'P', EITHER = 'C', ANY = '*';
+
+    private final Map<String, Task> exact;
+    private final Map<String, List<Task>> patterns;
+    /** the questions kept per pattern */
+    private final int length;
+
+    /**
+     * Constructor
+     * @param capacity The number of contents and of patterns remembered
+     * @param length The number of questions kept per pattern
+     */
+    public QuestionIndex(final int capacity, int length) {
+        this.length = length;
+        exact = new LinkedHashMap<String, Task>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Task> eldest) {
+                return size() > capacity;
+            }
+        };
+        patterns = new LinkedHashMap<String, List<Task>>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Task>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public void clear() {
+        exact.clear();
+        patterns.clear();
+    }
+
+    /**
+     * Remember a question; the first one of a content is kept, as in Concept
+     * @param question A Task whose sentence is a question
+     */
+    public void add(Task question) {
+        Term content = question.getContent();
+        if (!Variable.containVarQuery(content.getName())) {
+            exact.putIfAbsent(content.getName(), question);
+            return;
+        }
+        List<Task> tasks = patterns.computeIfAbsent(pattern(content), k -> new ArrayList<>());
+        for (Task t : tasks) {
+            if (t.getContent().equals(content)) {
+                return;
+            }
+        }
+        tasks.add(question);
+        if (tasks.size() > length) {
+            tasks.remove(0);    // FIFO
+        }
+    }
+
+    /**
+     * The questions a judgment may answer: the one on its content, then those
+     * with query variables that unify with it
+     * @param content The content of the judgment
+     * @return The questions, in no particular order among the patterns
+     */
+    public List<Task> answerable(Term content) {
+        Task same = exact.get(content.getName());
+        if (patterns.isEmpty() || !(content instanceof CompoundTerm)) {
+            return same == null ? Collections.<Task>emptyList() : Collections.singletonList(same);
+        }
+        List<Task> found = new ArrayList<>();
+        if (same != null) {
+            found.add(same);
+        }
+        if (content instanceof Statement) {
+            Statement statement = (Statement) content;
+            if (statement.isCommutative()) {
+                unifiable(key(content, EITHER, statement.getSubject()), content, found);
+                unifiable(key(content, EITHER, statement.getPredicate()), content, found);
+            } else {
+                unifiable(key(content, SUBJECT, statement.getSubject()), content, found);
+                unifiable(key(content, PREDICATE, statement.getPredicate()), content, found);
+            }
+        }
+        unifiable(key(content, ANY, null), content, found);
+        return found;
+    }
+
+    private void unifiable(String key, Term content, List<Task> found) {
+        List<Task> tasks = patterns.get(key);
+        if (tasks != null) {
+            for (Task t : tasks) {
+                if (Variable.unify(Symbols.VAR_QUERY, (Term) t.getContent().clone(), (Term) content.clone())) {
+                    found.add(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * The pattern of a question: a statement side without query variable,
+     * else the operator alone
+     */
+    private static String pattern(Term content) {
+        if (content instanceof Statement) {
+            Statement statement = (Statement) content;
+            Term subject = statement.getSubject(), predicate = statement.getPredicate();
+            boolean commutative = statement.isCommutative();
+            if (!Variable.containVarQuery(subject.getName())) {
+                return key(content, commutative ? EITHER : SUBJECT, subject);
+            }
+            if (!Variable.containVarQuery(predicate.getName())) {
+                return key(content, commutative ? EITHER : PREDICATE, predicate);
+            }
+        }
+        return key(content, ANY, null);
+    }
+
+    private static String key(Term content, char side, Term component) {
+        String op = content.opcode().symbol;
+        return component == null ? op + side : op + side + component.getName();
+    }
+}
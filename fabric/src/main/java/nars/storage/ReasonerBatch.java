@@ -4,7 +4,7 @@ import nars.entity.Stamp;
 import nars.entity.Task;
 import nars.io.InputChannel;
 import nars.io.OutputChannel;
-import nars.io.StringParser;
+import nars.io.NarseseParser;
 import nars.io.Symbols;
 
 import java.util.ArrayList;
@@ -26,6 +26,7 @@ public class ReasonerBatch {
     private int walkingSteps;
     private boolean finishedInputs;
     private long timer;
+    private boolean standAlone;
 
     private final AtomicInteger silenceValue = new AtomicInteger(Parameters.SILENT_LEVEL);
 
@@ -46,11 +47,21 @@ public class ReasonerBatch {
      * @return An experienced task
      */
     public static Task parseExperience(StringBuffer buffer, Memory memory, long time) {
+        return experienceLine(buffer) ? NarseseParser.parseTask(buffer, memory, time) : null;
+    }
+
+    /**
+     * Strip the input prefix and the trailing stamp from a line of experience
+     *
+     * @param buffer the line, edited in place
+     * @return false for an output line, which is not to be parsed
+     */
+    public static boolean experienceLine(StringBuffer buffer) {
         int i = buffer.indexOf(Symbols.PREFIX_MARK + "");
         if (0 < i) {
             String prefix = buffer.substring(0, i).trim();
             if (prefix.equals(Symbols.OUTPUT_LINE)) {
-                return null;
+                return false;
             } else if (prefix.equals(Symbols.INPUT_LINE)) {
                 buffer.delete(0, i + 1);
             }
@@ -60,7 +71,18 @@ public class ReasonerBatch {
             int j = buffer.lastIndexOf(Symbols.STAMP_OPENER + "");
             buffer.delete(j - 1, buffer.length());
         }
-        return StringParser.parseTask(buffer.toString().trim(), memory, time);
+        return true;
+    }
+
+    /**
+     * Take in a Task parsed ahead of time, stamped with the current clock
+     *
+     * @param reasonerBatch
+     * @param task a Task without Stamp
+     */
+    public static void inputTask(ReasonerBatch reasonerBatch, Task task) {
+        task.getSentence().setStamp(Stamp.createStamp(reasonerBatch.getMemory(), reasonerBatch.getClock()));
+        Memory.inputTask(reasonerBatch.getMemory(), task);
     }
 
     /**
@@ -73,7 +95,6 @@ public class ReasonerBatch {
         reasonerBatch.setWalkingSteps(0);
         reasonerBatch.setClock(0);
         Memory.init(reasonerBatch.getMemory());
-        Stamp.init();
         //	    timer = 0;
     }
 
@@ -172,6 +193,9 @@ public class ReasonerBatch {
                     reasonerShouldRun = reasonerShouldRun ||
                             channelIn.nextInput();
                 }
+                if (!reasonerShouldRun && Memory.flushInput(reasonerBatch.getMemory())) {
+                    walk(reasonerBatch, 1);     // one cycle to take in the flushed judgments
+                }
                 reasonerBatch.setFinishedInputs(!reasonerShouldRun);
                 break;
         }
@@ -365,4 +389,16 @@ public class ReasonerBatch {
     public void setFinishedInputs(boolean finishedInputs) {
         this.finishedInputs = finishedInputs;
     }
+
+    /**
+     * Whether the reasoner is run as an application, with concepts displayed
+     * in full
+     */
+    public boolean isStandAlone() {
+        return standAlone;
+    }
+
+    public void setStandAlone(boolean standAlone) {
+        this.standAlone = standAlone;
+    }
 }
@@ -0,0 +1,62 @@
+package nars.storage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs many independent reasoners on a shared thread pool.
+ * <p>
+ * Each submitted {@link NARSBatch} is run to completion in slices of working
+ * cycles; after a slice it is queued again, so a few threads are shared
+ * fairly among any number of reasoners. A reasoner is never run by two
+ * threads at once, and reasoners share no mutable state: serial numbers,
+ * memory and display mode all belong to the ReasonerBatch.
+ */
+public class ReasonerScheduler {
+
+    private final Executor pool;
+    private final int slice;
+
+    /**
+     * Constructor
+     * @param pool The threads the reasoners run on
+     */
+    public ReasonerScheduler(Executor pool) {
+        this(pool, Parameters.SCHEDULER_SLICE);
+    }
+
+    /**
+     * Constructor
+     * @param pool The threads the reasoners run on
+     * @param slice Working cycles run before a reasoner yields its thread
+     */
+    public ReasonerScheduler(Executor pool, int slice) {
+        this.pool = pool;
+        this.slice = slice;
+    }
+
+    /**
+     * Run a reasoner to completion, as {@link NARSBatch#run(NARSBatch)}
+     * @param narsBatch A reasoner with its inputs and outputs attached
+     * @return Completed with the reasoner when its inputs are finished
+     */
+    public CompletableFuture<NARSBatch> submit(NARSBatch narsBatch) {
+        CompletableFuture<NARSBatch> done = new CompletableFuture<>();
+        pool.execute(() -> runSlice(narsBatch, done));
+        return done;
+    }
+
+    private void runSlice(NARSBatch narsBatch, CompletableFuture<NARSBatch> done) {
+        try {
+            for (int i = 0; i < slice; i++) {
+                if (NARSBatch.step(narsBatch)) {
+                    done.complete(narsBatch);
+                    return;
+                }
+            }
+            pool.execute(() -> runSlice(narsBatch, done));
+        } catch (Throwable e) {
+            done.completeExceptionally(e);
+        }
+    }
+}
@@ -36,11 +36,11 @@ public class TaskLinkBag extends Bag<TaskLink> {
     }
 
     /**
-     * Get the (constant) capacity of TaskLinkBag
+     * Get the capacity of TaskLinkBag, from the Profile of the memory
      * @return The capacity of TaskLinkBag
      */
     protected int capacity() {
-        return Parameters.TASK_LINK_BAG_SIZE;
+        return memory.getProfile().getTaskLinkBagSize();
     }
     
     /**
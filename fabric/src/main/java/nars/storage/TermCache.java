@@ -0,0 +1,94 @@
+package nars.storage;
+
+import nars.language.Operator;
+import nars.language.Term;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded memo of compound construction, owned by the Memory.
+ * <p>
+ * A compound is remembered by its opcode and component list, so rebuilding
+ * the same compound returns the earlier instance without deriving its name,
+ * sorting its set or looking it up in the ConceptBag. Only constant terms are
+ * kept: they are never renamed or substituted in place, so sharing them is as
+ * safe as sharing the term of a Concept. The least recently used entry is
+ * dropped once the cache is full.
+ * <p>
+ * Lookups are synchronized, as terms are also made by the workers that parse
+ * input in parallel.
+ */
+public class TermCache {
+
+    private final Map<Key, Term> terms;
+
+    /**
+     * Constructor
+     * @param capacity The number of compounds remembered
+     */
+    public TermCache(final int capacity) {
+        terms = new LinkedHashMap<Key, Term>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Term> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized void clear() {
+        terms.clear();
+    }
+
+    /**
+     * Find a compound built earlier
+     * @param op The opcode of the compound
+     * @param components The components as given to make
+     * @return The compound, or null if it has not been built recently
+     */
+    public synchronized Term get(Operator op, List<Term> components) {
+        return terms.get(new Key(op, components));
+    }
+
+    /**
+     * Remember a compound
+     * @param op The opcode of the compound
+     * @param components The components as given to make, copied
+     * @param t The result of make, ignored unless it is a constant
+     * @return The given term
+     */
+    public synchronized Term put(Operator op, List<Term> components, Term t) {
+        if (null != t && t.isConstant()) {
+            terms.put(new Key(op, new ArrayList<>(components)), t);
+        }
+        return t;
+    }
+
+    /**
+     * Opcode and component list; components are compared by name, their
+     * identity in NARS
+     */
+    private static final class Key {
+        private final byte op;
+        private final List<Term> components;
+        private final int hash;
+
+        Key(Operator op, List<Term> components) {
+            this.op = op.code;
+            this.components = components;
+            this.hash = 31 * components.hashCode() + op.code;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object that) {
+            return that instanceof Key && op == ((Key) that).op && hash == ((Key) that).hash && components.equals(((Key) that).components);
+        }
+    }
+}
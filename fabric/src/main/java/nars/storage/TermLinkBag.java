@@ -35,11 +35,11 @@ public class TermLinkBag extends Bag<TermLink> {
     }
 
     /**
-     * Get the (constant) capacity of TermLinkBag
+     * Get the capacity of TermLinkBag, from the Profile of the memory
      * @return The capacity of TermLinkBag
      */
     protected int capacity() {
-        return Parameters.TERM_LINK_BAG_SIZE;
+        return memory.getProfile().getTermLinkBagSize();
     }
 
     /**
@@ -57,7 +57,7 @@ public class TermLinkBag extends Bag<TermLink> {
      * @return The selected TermLink
      */
     public TermLink takeOut(TaskLink taskLink, long time) {
-        for (int i = 0; i < Parameters.MAX_MATCHED_TERM_LINK; i++) {
+        for (int i = 0; i < memory.getProfile().getMaxMatchedTermLink(); i++) {
             TermLink termLink = takeOut();
             if (termLink == null) {
                 return null;
@@ -11,6 +11,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public interface WorkSpace {
     /* ---------- access utilities ---------- */
+    Profile getProfile();
+
     List<String> getExportStrings();
 
     AtomicInteger getTaskForgettingRate();
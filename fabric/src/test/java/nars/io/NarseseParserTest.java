@@ -0,0 +1,160 @@
+package nars.io;
+
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.language.Term;
+import nars.storage.Memory;
+import nars.storage.NARSBatch;
+import nars.storage.Parameters;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NarseseParserTest {
+
+    private static final float DELTA = 0.001f;
+
+    private Memory memory;
+
+    @Before
+    public void setUp() {
+        memory = new NARSBatch().getReasoner().getMemory();
+    }
+
+    private Term term(String text) {
+        NarseseParser parser = new NarseseParser(text, memory);
+        Term t = parser.term();
+        assertEquals(parser.message(), NarseseParser.OK, parser.error());
+        return t;
+    }
+
+    private Task task(String text) {
+        NarseseParser parser = new NarseseParser(text, memory);
+        Task task = parser.task();
+        assertEquals(parser.message(), NarseseParser.OK, parser.error());
+        return task;
+    }
+
+    private int termError(String text) {
+        NarseseParser parser = new NarseseParser(text, memory);
+        assertNull(parser.term());
+        assertTrue(parser.errorAt() >= 0);
+        return parser.error();
+    }
+
+    private int taskError(String text) {
+        NarseseParser parser = new NarseseParser(text, memory);
+        assertNull(parser.task());
+        assertTrue(parser.errorAt() >= 0);
+        return parser.error();
+    }
+
+    @Test
+    public void atomAndStatement() {
+        assertEquals("robin", term("robin").getName());
+        assertEquals("<robin --> bird>", term("<robin --> bird>").getName());
+        assertEquals("<robin --> bird>", term("  < robin-->bird >  ").getName());
+    }
+
+    @Test
+    public void nestedCompounds() {
+        assertEquals("(*,acid,base)", term("(*, acid, base)").getName());
+        assertEquals("<(*,acid,base) --> reaction>", term("<(*,acid,base) --> reaction>").getName());
+        assertEquals("(*,(*,a,b),c)", term("(*,(*,a,b),c)").getName());
+        assertEquals("{Tweety}", term("{Tweety}").getName());
+        assertEquals("[yellow]", term("[yellow]").getName());
+        assertEquals("<{Tweety} --> [yellow]>", term("<{Tweety} --> [yellow]>").getName());
+    }
+
+    @Test
+    public void nestedStatements() {
+        assertEquals("<<robin --> bird> ==> <robin --> animal>>",
+                term("<<robin --> bird> ==> <robin --> animal>>").getName());
+        assertEquals("<(&&,<robin --> bird>,<robin --> swimmer>) ==> <robin --> animal>>",
+                term("<(&&,<robin --> bird>,<robin --> swimmer>) ==> <robin --> animal>>").getName());
+    }
+
+    @Test
+    public void defaultTruthAndBudget() {
+        Task judgment = task("<robin --> bird>.");
+        Sentence sentence = judgment.getSentence();
+        assertTrue(sentence.isJudgment());
+        assertEquals(1f, sentence.getTruth().getFrequency(), DELTA);
+        assertEquals(Parameters.DEFAULT_JUDGMENT_CONFIDENCE, sentence.getTruth().getConfidence(), DELTA);
+        assertEquals(Parameters.DEFAULT_JUDGMENT_PRIORITY, judgment.getBudget().getPriority(), DELTA);
+        assertEquals(Parameters.DEFAULT_JUDGMENT_DURABILITY, judgment.getBudget().getDurability(), DELTA);
+
+        Task question = task("<robin --> bird>?");
+        assertTrue(question.getSentence().isQuestion());
+        assertNull(question.getSentence().getTruth());
+        assertEquals(Parameters.DEFAULT_QUESTION_PRIORITY, question.getBudget().getPriority(), DELTA);
+        assertEquals(Parameters.DEFAULT_QUESTION_DURABILITY, question.getBudget().getDurability(), DELTA);
+    }
+
+    @Test
+    public void truthValue() {
+        Sentence sentence = task("<robin --> bird>. %0.7;0.6%").getSentence();
+        assertEquals(0.7f, sentence.getTruth().getFrequency(), DELTA);
+        assertEquals(0.6f, sentence.getTruth().getConfidence(), DELTA);
+
+        sentence = task("<robin --> bird>. %0.3%").getSentence();
+        assertEquals(0.3f, sentence.getTruth().getFrequency(), DELTA);
+        assertEquals(Parameters.DEFAULT_JUDGMENT_CONFIDENCE, sentence.getTruth().getConfidence(), DELTA);
+    }
+
+    @Test
+    public void budgetValue() {
+        Task task = task("$0.5;0.4$ <robin --> bird>. %1.0;0.9%");
+        assertEquals(0.5f, task.getBudget().getPriority(), DELTA);
+        assertEquals(0.4f, task.getBudget().getDurability(), DELTA);
+        assertEquals("<robin --> bird>", task.getContent().getName());
+
+        task = task("$0.5$ <robin --> bird>?");
+        assertEquals(0.5f, task.getBudget().getPriority(), DELTA);
+        assertEquals(Parameters.DEFAULT_QUESTION_DURABILITY, task.getBudget().getDurability(), DELTA);
+    }
+
+    @Test
+    public void unbalancedBrackets() {
+        assertEquals(NarseseParser.MISSING_CLOSER, termError("(*,acid,base"));
+        assertEquals(NarseseParser.MISSING_CLOSER, termError("<robin --> bird"));
+        assertEquals(NarseseParser.MISSING_CLOSER, termError("{Tweety"));
+        assertEquals(NarseseParser.MISSING_CLOSER, termError("<(*,acid,base> --> reaction>"));
+        assertEquals(NarseseParser.MISSING_CLOSER, taskError("<robin --> bird."));
+        assertEquals(NarseseParser.TRAILING_INPUT, termError("<robin --> bird>>"));
+    }
+
+    @Test
+    public void badValues() {
+        assertEquals(NarseseParser.INVALID_VALUE, taskError("<robin --> bird>. %x;0.9%"));
+        assertEquals(NarseseParser.INVALID_VALUE, taskError("<robin --> bird>. %1.0;%"));
+        assertEquals(NarseseParser.INVALID_VALUE, taskError("$high$ <robin --> bird>."));
+        assertEquals(NarseseParser.MISSING_CLOSER, taskError("<robin --> bird>. 0.9;0.9%"));
+        assertEquals(NarseseParser.MISSING_CLOSER, taskError("$0.5 <robin --> bird>."));
+    }
+
+    @Test
+    public void unknownOperators() {
+        assertEquals(NarseseParser.UNKNOWN_OPERATOR, termError("(#,acid,base)"));
+        assertEquals(NarseseParser.UNKNOWN_OPERATOR, termError("(-->,acid,base)"));
+        assertEquals(NarseseParser.UNKNOWN_RELATION, termError("<robin ==- bird>"));
+        assertEquals(NarseseParser.UNKNOWN_PUNCTUATION, taskError("<robin --> bird>!"));
+    }
+
+    @Test
+    public void missingTerms() {
+        assertEquals(NarseseParser.MISSING_TERM, termError(""));
+        assertEquals(NarseseParser.MISSING_TERM, termError("<--> bird>"));
+        assertEquals(NarseseParser.MISSING_TERM, taskError("."));
+    }
+
+    @Test
+    public void parseTermReportsNull() {
+        assertNotNull(NarseseParser.parseTerm("<robin --> bird>", memory));
+        assertNull(NarseseParser.parseTerm("(*,acid", memory));
+    }
+}
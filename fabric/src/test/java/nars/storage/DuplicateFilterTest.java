@@ -0,0 +1,61 @@
+package nars.storage;
+
+import nars.entity.Stamp;
+import nars.entity.TruthValue;
+import nars.io.Symbols;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateFilterTest {
+
+    private static final String CONTENT = "<robin --> animal>";
+
+    private Memory memory;
+    private DuplicateFilter filter;
+    private Stamp stamp;
+
+    @Before
+    public void setUp() {
+        memory = new NARSBatch().getReasoner().getMemory();
+        filter = new DuplicateFilter(Parameters.DUPLICATE_FILTER_SIZE, Parameters.DUPLICATE_WINDOW);
+        stamp = Stamp.createStamp(memory, 0);
+    }
+
+    @Test
+    public void repeatIsDropped() {
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1));
+        assertTrue(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 2));
+    }
+
+    @Test
+    public void otherTruthIsKept() {
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1));
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.45f), stamp, 1));
+    }
+
+    @Test
+    public void otherEvidenceIsKept() {
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1));
+        Stamp other = Stamp.createStamp(memory, 0);
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), other, 1));
+    }
+
+    @Test
+    public void repeatIsForgottenAfterTwoWindows() {
+        int window = Parameters.DUPLICATE_WINDOW;
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1));
+        assertFalse(filter.repeated("<bird --> animal>", Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1 + window));
+        assertFalse(filter.repeated("<bird --> animal>", Symbols.QUESTION_MARK, null, stamp, 1 + 2 * window));
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1 + 2 * window));
+    }
+
+    @Test
+    public void repeatIsForgottenAfterIdleGap() {
+        int window = Parameters.DUPLICATE_WINDOW;
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1));
+        assertFalse(filter.repeated(CONTENT, Symbols.JUDGMENT_MARK, new TruthValue(1f, 0.81f), stamp, 1 + 2 * window));
+    }
+}
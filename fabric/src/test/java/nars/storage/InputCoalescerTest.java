@@ -0,0 +1,47 @@
+package nars.storage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InputCoalescerTest {
+
+    private NARSBatch nars;
+
+    @Before
+    public void setUp() {
+        nars = new NARSBatch();
+        nars.setDumpLastState(false);
+        Memory memory = nars.getReasoner().getMemory();
+        Profile profile = memory.getProfile();
+        Profile.set(profile, "INPUT_COALESCE_WINDOW", "5");
+        Memory.configure(memory, profile);
+    }
+
+    private String run(String input) {
+        StringWriter out = new StringWriter();
+        NARSBatch.runInference(nars, new BufferedReader(new StringReader(input)), new BufferedWriter(out));
+        return out.toString();
+    }
+
+    @Test(timeout = 10000)
+    public void judgmentAtEndOfInputIsFlushed() {
+        String out = run("<a --> b>.\n");
+        assertTrue(out, out.contains("IN: <a --> b>."));
+        assertEquals(0, nars.getReasoner().getMemory().getInputCoalescer().size());
+    }
+
+    @Test(timeout = 10000)
+    public void judgmentHeldPastLastCyclesIsFlushed() {
+        String out = run("<a --> b>.\n1\n");
+        assertTrue(out, out.contains("IN: <a --> b>."));
+        assertEquals(0, nars.getReasoner().getMemory().getInputCoalescer().size());
+    }
+}
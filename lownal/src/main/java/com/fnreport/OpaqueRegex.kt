@@ -1,6 +1,5 @@
 package com.fnreport
 
 open class OpaqueRegex(override val input: String) : WithRegex {
-    override val regex: Regex
-        get() = input.replace("(\\W)".toRegex(), "\\\\$1").toRegex()
-}
\ No newline at end of file
+    override val regex: Regex get() = RegexCache.literal(input)
+}
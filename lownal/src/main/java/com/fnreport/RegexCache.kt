@@ -0,0 +1,18 @@
+package com.fnreport
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * every pattern is compiled once per process.  composing the operator DSL only concatenates pattern strings; the
+ * [Regex] behind each one is built on first use and shared from then on.
+ */
+object RegexCache {
+    private val compiled = ConcurrentHashMap<String, Regex>()
+    private val literals = ConcurrentHashMap<String, Regex>()
+    private val opaque = "(\\W)".toRegex()
+
+    operator fun get(pattern: String): Regex = compiled.getOrPut(pattern) { Regex(pattern) }
+
+    /** a regex matching [text] itself, every non-word character escaped */
+    fun literal(text: String): Regex = literals.getOrPut(text) { get(text.replace(opaque, "\\\\$1")) }
+}
@@ -1,6 +1,6 @@
 package com.fnreport
 
 interface WithRegex : SymbolWithInput {
-    val regex: Regex get() = input.toRegex()
+    val regex: Regex get() = RegexCache[input]
 
-}
\ No newline at end of file
+}
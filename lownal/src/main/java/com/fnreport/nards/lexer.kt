@@ -0,0 +1,69 @@
+package com.fnreport.nards
+
+import com.fnreport.SymbolWithInput
+import java.util.regex.Pattern
+
+/** lexeme kinds, tried in this order at each position */
+enum class token {
+    comment, prefix, stamp, budget, truth, tense, copula, connector, opener, closer, separator, variable, punctuation, word,
+    /** one character no other kind accepts */
+    unknown
+}
+
+/** a slice of the input; the text is only copied out when asked for */
+class lexeme(val kind: token, val input: CharSequence, val start: Int, val end: Int) {
+    val text: CharSequence get() = input.subSequence(start, end)
+    override fun toString() = "$kind:$text"
+}
+
+/**
+ * streaming Narsese tokenizer.  the symbol enums of [Terms.kt] are folded into one pattern with a named group per
+ * [token], compiled once; the input is then walked with a single matcher, no substring is taken to find a lexeme.
+ */
+object lexer {
+    private fun alt(vararg symbols: SymbolWithInput) =
+            symbols.map { it.input }.sortedByDescending { it.length }.joinToString("|") { Regex.escape(it) }
+
+    private val copulas = alt(*copula.values())
+    private val name = "(?:(?!$copulas)[^\\s,(){}\\[\\]<>%\$#?.!@;:])+"
+
+    private val patterns = mapOf(
+            token.comment to "//.*|(?<![(,\\w])\\*.*",
+            token.prefix to "(?:IN|OUT):",
+            token.stamp to "\\{\\d+\\s*:[^}]*\\}",
+            token.budget to "\\$${fragment.priority.input}(?:;${fragment.durability.input})?(?:;${fragment.quality.input})?\\$",
+            token.truth to accounting.truth.input,
+            token.tense to alt(*tense.values()),
+            token.copula to copulas,
+            token.connector to alt(*term_connector.values(), *op_multi.values().filter { it != op_multi.image }.toTypedArray(), *op_single.values()),
+            token.opener to "[(<{\\[]",
+            token.closer to "[)>}\\]]",
+            token.separator to ",",
+            token.variable to "[\$#?]\\w+",
+            token.punctuation to "[.?!@]",
+            token.word to name
+    )
+
+    private val kinds = patterns.keys.toTypedArray()
+
+    val grammar: Pattern = Pattern.compile(kinds.joinToString("|") { "(?<${it.name}>${patterns[it]})" })
+
+    /** lexemes of [input], produced as they are consumed */
+    fun tokens(input: CharSequence): Sequence<lexeme> = sequence {
+        val m = grammar.matcher(input).useTransparentBounds(true).useAnchoringBounds(false)
+        var pos = 0
+        while (true) {
+            while (pos < input.length && input[pos].isWhitespace()) pos++
+            if (pos == input.length) break
+            m.region(pos, input.length)
+            if (m.lookingAt()) {
+                val kind = kinds.first { m.start(it.name) >= 0 }
+                yield(lexeme(kind, input, pos, m.end()))
+                pos = m.end()
+            } else {
+                yield(lexeme(token.unknown, input, pos, pos + 1))
+                pos++
+            }
+        }
+    }
+}
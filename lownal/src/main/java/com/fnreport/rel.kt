@@ -1,6 +1,8 @@
 package com.fnreport
 
 /**
- * regex literal -- any operator-enabled regex strings.
+ * regex literal -- any operator-enabled regex strings.  compiled on first use, not on every composition.
  */
-class rel(override val input: String, override val regex: Regex = Regex (input)) : RegexEmitter
\ No newline at end of file
+class rel(override val input: String) : RegexEmitter {
+    override val regex: Regex by lazy { RegexCache[input] }
+}
@@ -0,0 +1,47 @@
+package com.fnreport
+
+import com.fnreport.nards.*
+import io.kotlintest.specs.StringSpec
+import java.io.File
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class lexerTest : StringSpec() {
+    val in1 = " OUT: <<$1 --> swan> ==> (||,<$1 --> bird>,<$1 --> swimmer>)>. %1.00;0.72% {0 : 1;2}"
+
+    /** the Examples corpus, one String per file */
+    val corpus = File("src/test/resources/Examples").listFiles { f -> f.name.endsWith(".txt") }!!.sorted().map { it.readText() }
+
+    init {
+        "tokens" {
+            val kinds = lexer.tokens(in1).map { it.kind }.toList()
+            assertEquals(listOf(token.prefix, token.opener, token.opener, token.variable, token.copula, token.word, token.closer,
+                    token.copula, token.opener, token.connector, token.separator), kinds.take(11))
+            assertEquals(listOf(token.punctuation, token.truth, token.stamp), kinds.takeLast(3))
+        }
+
+        "memoized regex" {
+            val l = lit("<==>")
+            assertTrue(l.regex === l.regex)
+            assertTrue(rel("a|b").regex === rel("a|b").regex)
+        }
+
+        "corpus" {
+            val unknown = corpus.sumBy { text -> lexer.tokens(text).count { it.kind == token.unknown } }
+            assertEquals(0, unknown)
+        }
+
+        "memoized regex beats recompiling" {
+            val literals = copula.values().map { it.input } + op_multi.values().map { it.input }
+            fun nanos(body: () -> Int): Long {
+                repeat(5) { body() }    // warm up
+                val t0 = System.nanoTime()
+                repeat(20) { body() }
+                return System.nanoTime() - t0
+            }
+            val cached = nanos { literals.sumBy { lit(it).regex.pattern.length } }
+            val recompiled = nanos { literals.sumBy { it.replace("(\\W)".toRegex(), "\\\\$1").toRegex().pattern.length } }
+            assertTrue(cached < recompiled, "cached $cached ns, recompiled $recompiled ns")
+        }
+    }
+}